@@ -0,0 +1,89 @@
+package com.codebind;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Векторная реализация вычислительных ядер на jdk.incubator.vector.
+ * Ширина вектора выбирается по процессору (8 float для AVX2, 16 для AVX-512), остаток участка
+ * обрабатывается скалярно. Класс загружается Kernels через отражение; собирается и запускается
+ * с ключом --add-modules jdk.incubator.vector.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class VectorKernels extends Kernels {
+
+    /**
+     * Вектор float наибольшей поддерживаемой процессором ширины
+     */
+    static final VectorSpecies<Float> FLOAT = FloatVector.SPECIES_PREFERRED;
+
+    /**
+     * Вектор double той же ширины в битах (вдвое меньше элементов)
+     */
+    static final VectorSpecies<Double> DOUBLE = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Вектор float вдвое меньшей ширины - столько же элементов, сколько в векторе double
+     */
+    static final VectorSpecies<Float> HALF = FloatVector.SPECIES_PREFERRED.withShape(VectorShape.forBitSize(DOUBLE.vectorBitSize() / 2));
+
+    @Override
+    public String getName() {
+        return "векторные (" + FLOAT.length() + " × float)";
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] x, int xOffset, int length) {
+        FloatVector sum = FloatVector.zero(FLOAT);
+        int bound = FLOAT.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += FLOAT.length()) {
+            FloatVector va = FloatVector.fromArray(FLOAT, a, aOffset + k);
+            FloatVector vx = FloatVector.fromArray(FLOAT, x, xOffset + k);
+            sum = va.mul(vx).add(sum);
+        }
+        float result = sum.reduceLanes(VectorOperators.ADD);
+        for (; k < length; k++) {
+            result += a[aOffset + k] * x[xOffset + k];
+        }
+        return result;
+    }
+
+    @Override
+    public double dotDouble(float[] x, float[] y, int length) {
+        //Половинный вектор float расширяется до вектора double: произведения считаются без округления
+        DoubleVector sum = DoubleVector.zero(DOUBLE);
+        int bound = HALF.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += HALF.length()) {
+            DoubleVector vx = (DoubleVector) FloatVector.fromArray(HALF, x, k).convertShape(VectorOperators.F2D, DOUBLE, 0);
+            DoubleVector vy = (DoubleVector) FloatVector.fromArray(HALF, y, k).convertShape(VectorOperators.F2D, DOUBLE, 0);
+            sum = vx.mul(vy).add(sum);
+        }
+        double result = sum.reduceLanes(VectorOperators.ADD);
+        for (; k < length; k++) {
+            result += (double) x[k] * y[k];
+        }
+        return result;
+    }
+
+    @Override
+    public void axpy(float alpha, float[] x, int xOffset, float[] y, int yOffset, int length) {
+        //Умножение и сложение раздельно (без fma): результат поэлементно совпадает со скалярной реализацией
+        FloatVector va = FloatVector.broadcast(FLOAT, alpha);
+        int bound = FLOAT.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += FLOAT.length()) {
+            FloatVector vx = FloatVector.fromArray(FLOAT, x, xOffset + k);
+            FloatVector vy = FloatVector.fromArray(FLOAT, y, yOffset + k);
+            vy.add(va.mul(vx)).intoArray(y, yOffset + k);
+        }
+        for (; k < length; k++) {
+            y[yOffset + k] += alpha * x[xOffset + k];
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.codebind;
+
+/**
+ * Базовый абстрактный класс решателя СЛАУ в арифметике двойной точности
+ * @autor Epishov
+ * @version 1.0
+ */
+public abstract class AbstractDoubleSolver {
+
+    /**
+     * Матрица коэффициентов при неизвестных
+     */
+    protected double[][] coeff;
+
+    /**
+     * Вектор свободных членов
+     */
+    protected double[] freeCoeff;
+
+    /**
+     * Конструктор класса
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public AbstractDoubleSolver(double[][] coeff, double[] freeCoeff){
+        this.coeff = coeff;
+        this.freeCoeff = freeCoeff;
+    }
+
+    /**
+     * Получение размерности матрицы коэффициентов при неизвестных (количества неизвестных)
+     * @return
+     */
+    public int getRank(){
+        return coeff.length;
+    }
+
+    /**
+     * Поиск решения СЛАУ
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ
+     */
+    public abstract double[] solve();
+
+    /**
+     * Поиск решения СЛАУ с новым вектором свободных членов без создания нового решателя
+     * @param freeCoeff Вектор свободных членов
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ
+     */
+    public double[] solve(double[] freeCoeff) {
+        this.freeCoeff = freeCoeff;
+        return solve();
+    }
+
+    /**
+     * Вычисление невязки r = b - A·x в двойной точности
+     * @param x Приближённое решение
+     * @param r Вектор для записи невязки
+     * @return Максимальная по модулю компонента невязки
+     */
+    protected double residual(double[] x, double[] r) {
+        int n = getRank();
+        double norm = 0;
+        for (int i = 0; i < n; i++) {
+            double[] row = coeff[i];
+            double sum = freeCoeff[i];
+            for (int j = 0; j < n; j++) {
+                sum -= row[j] * x[j];
+            }
+            r[i] = sum;
+            norm = Math.max(norm, Math.abs(sum));
+        }
+        return norm;
+    }
+
+    /**
+     * Преобразование матрицы двойной точности в одинарную
+     * @param matrix Матрица двойной точности
+     * @return Матрица одинарной точности
+     */
+    static float[][] toFloat(double[][] matrix) {
+        float[][] result = new float[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            result[i] = toFloat(matrix[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Преобразование вектора двойной точности в одинарную
+     * @param vector Вектор двойной точности
+     * @return Вектор одинарной точности
+     */
+    static float[] toFloat(double[] vector) {
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = (float) vector[i];
+        }
+        return result;
+    }
+}
@@ -17,6 +17,31 @@ public abstract class AbstractSolver {
      */
     protected float[] freeCoeff;
 
+    /**
+     * Разреженная матрица коэффициентов (null, если задана плотная матрица coeff)
+     */
+    protected SparseMatrix sparse;
+
+    /**
+     * Матрица коэффициентов в непрерывном хранилище (задаётся конструктором или строится по coeff при первом обращении)
+     */
+    protected DenseMatrix matrix;
+
+    /**
+     * Матрица coeff, по которой построена matrix
+     */
+    private float[][] matrixSource;
+
+    /**
+     * Признак отмены решения. Устанавливается из другого потока и проверяется в циклах решателей.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Статистика последнего решения через solveWithStatistics() (null, если такого решения не было)
+     */
+    private SolverStatistics statistics;
+
     /**
      * Конструктор класса
      * @param coeff Матрица коэффициентов при неизвестных
@@ -27,12 +52,75 @@ public abstract class AbstractSolver {
         this.freeCoeff = freeCoeff;
     }
 
+    /**
+     * Конструктор класса для разреженной матрицы коэффициентов
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    protected AbstractSolver(SparseMatrix sparse, float[] freeCoeff){
+        this.sparse = sparse;
+        this.freeCoeff = freeCoeff;
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище (в куче или вне её)
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    protected AbstractSolver(DenseMatrix matrix, float[] freeCoeff){
+        this.matrix = matrix;
+        this.freeCoeff = freeCoeff;
+    }
+
     /**
      * Получение размерности матрицы коэффициентов при неизвестных (количества неизвестных)
      * @return
      */
     public int getRank(){
-        return coeff.length;
+        if (sparse != null) {
+            return sparse.getRank();
+        }
+        return coeff != null ? coeff.length : matrix.getRank();
+    }
+
+    /**
+     * Получение плотной матрицы коэффициентов в непрерывном хранилище.
+     * Матрица, заданная как float[][], копируется один раз при первом обращении.
+     * @return Матрица коэффициентов или null, если задана разреженная матрица
+     */
+    public DenseMatrix getMatrix() {
+        if (coeff != null && matrixSource != coeff) {
+            matrix = DenseMatrix.of(coeff);
+            matrixSource = coeff;
+        }
+        return matrix;
+    }
+
+    /**
+     * Получение плотной матрицы коэффициентов как float[][] для алгоритмов, переставляющих строки.
+     * Матрица, заданная в непрерывном хранилище, копируется один раз при первом обращении.
+     * @return Матрица коэффициентов или null, если задана разреженная матрица
+     */
+    protected float[][] getCoeff() {
+        if (coeff == null && matrix != null) {
+            coeff = matrix.toArray();
+            matrixSource = coeff;
+        }
+        return coeff;
+    }
+
+    /**
+     * Копирование строки плотной матрицы коэффициентов без промежуточных копий всей матрицы
+     * @param i Номер строки
+     * @param target Массив для записи
+     * @param offset Позиция первого элемента строки в массиве
+     */
+    protected void copyRow(int i, float[] target, int offset) {
+        if (coeff != null) {
+            System.arraycopy(coeff[i], 0, target, offset, coeff[i].length);
+        } else {
+            matrix.getRow(i, target, offset);
+        }
     }
 
     /**
@@ -40,4 +128,141 @@ public abstract class AbstractSolver {
      * @return Вектор со значениями найденных неизвестных - решение СЛАУ
      */
     public abstract float[] solve();
+
+    /**
+     * Поиск решения СЛАУ с новым вектором свободных членов без создания нового решателя.
+     * Наследники, хранящие разложение матрицы, решают систему за O(n²).
+     * @param freeCoeff Вектор свободных членов
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ
+     */
+    public float[] solve(float[] freeCoeff) {
+        this.freeCoeff = freeCoeff;
+        return solve();
+    }
+
+    /**
+     * Поиск решения СЛАУ со сбором статистики: время по этапам, итерации, причина окончания,
+     * невязка и выделенная память. Статистика передаётся получателям SolverListener и записывается событием JFR.
+     * @return Статистика решения (решение - getSolution())
+     */
+    public SolverStatistics solveWithStatistics() {
+        return measure(null, true);
+    }
+
+    /**
+     * Поиск решения СЛАУ с новым вектором свободных членов (см. solve(float[])) со сбором статистики
+     * @param freeCoeff Вектор свободных членов
+     * @return Статистика решения (решение - getSolution())
+     */
+    public SolverStatistics solveWithStatistics(float[] freeCoeff) {
+        return measure(freeCoeff, true);
+    }
+
+    /**
+     * Выполнение решения со сбором статистики
+     * @param freeCoeff Новый вектор свободных членов или null, если используется текущий
+     * @param publish false - для вложенного решения (метода-кандидата AutoSolver): без невязки, события и получателей
+     * @return Статистика решения
+     */
+    SolverStatistics measure(float[] freeCoeff, boolean publish) {
+        SolverStatistics current = new SolverStatistics(this);
+        statistics = current;
+        current.start();
+        float[] result = null;
+        try {
+            result = freeCoeff == null ? solve() : solve(freeCoeff);
+        } finally {
+            current.stop(result);
+        }
+        current.complete(this);
+        if (publish) {
+            current.publish(this);
+        }
+        return current;
+    }
+
+    /**
+     * Получение статистики последнего решения, выполненного через solveWithStatistics()
+     * @return Статистика или null
+     */
+    public SolverStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Отметка начала этапа решения для статистики (без сбора статистики ничего не делает)
+     * @param name Название этапа (константы SolverStatistics)
+     */
+    protected void phase(String name) {
+        SolverStatistics current = statistics;
+        if (current != null) {
+            current.phase(name);
+        }
+    }
+
+    /**
+     * Проверка, собирается ли статистика текущего решения
+     * @return true, если решение выполняется через solveWithStatistics()
+     */
+    boolean isMeasured() {
+        SolverStatistics current = statistics;
+        return current != null && current.isRunning();
+    }
+
+    /**
+     * Дополнение статистики сведениями, известными только решателю (итерации, причина окончания)
+     * @param statistics Статистика завершившегося решения
+     */
+    protected void collect(SolverStatistics statistics) {
+    }
+
+    /**
+     * Вычисление относительной невязки ||b - A·x|| / ||b|| (максимум-норма) с накоплением в double
+     * @param x Приближённое решение
+     * @return Относительная невязка или NaN, если матрица хранится в собственном формате решателя
+     */
+    protected double relativeResidual(float[] x) {
+        if (coeff == null && matrix == null && sparse == null) {
+            return Double.NaN;
+        }
+        int n = getRank();
+        float[] row = coeff == null && sparse == null ? new float[n] : null;
+        double residual = 0;
+        double scale = 0;
+        for (int i = 0; i < n; i++) {
+            double sum = 0;
+            if (sparse != null) {
+                for (int k = sparse.rowStart[i]; k < sparse.rowStart[i + 1]; k++) {
+                    sum += (double) sparse.values[k] * x[sparse.columns[k]];
+                }
+            } else {
+                float[] a = coeff != null ? coeff[i] : row;
+                if (coeff == null) {
+                    matrix.getRow(i, row, 0);
+                }
+                for (int j = 0; j < n; j++) {
+                    sum += (double) a[j] * x[j];
+                }
+            }
+            residual = Math.max(residual, Math.abs(freeCoeff[i] - sum));
+            scale = Math.max(scale, Math.abs(freeCoeff[i]));
+        }
+        return scale == 0 ? residual : residual / scale;
+    }
+
+    /**
+     * Запрос на отмену решения (может вызываться из любого потока).
+     * Решатель завершает текущий шаг и возвращает null; отмена действует и на последующие вызовы solve().
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Проверка, запрошена ли отмена решения
+     * @return true, если вызван cancel()
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
 }
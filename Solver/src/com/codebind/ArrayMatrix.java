@@ -0,0 +1,67 @@
+package com.codebind;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Плотная матрица в одном массиве float в куче (по строкам)
+ * @autor Epishov
+ * @version 1.0
+ */
+public class ArrayMatrix extends DenseMatrix {
+
+    /**
+     * Элементы матрицы: a_ij = values[i·n + j]
+     */
+    final float[] values;
+
+    /**
+     * Создание нулевой матрицы
+     * @param rank Размерность матрицы
+     */
+    public ArrayMatrix(int rank) {
+        this(new float[Math.toIntExact((long) rank * rank)], rank);
+    }
+
+    /**
+     * Создание матрицы над существующим массивом (без копирования)
+     * @param values Элементы матрицы по строкам (n·n элементов)
+     * @param rank Размерность матрицы
+     */
+    public ArrayMatrix(float[] values, int rank) {
+        super(rank);
+        if (values.length != (long) rank * rank) {
+            throw new IllegalArgumentException("Размер массива не соответствует размерности матрицы.");
+        }
+        this.values = values;
+    }
+
+    @Override
+    public float get(int i, int j) {
+        return values[i * rank + j];
+    }
+
+    @Override
+    public void set(int i, int j, float value) {
+        values[i * rank + j] = value;
+    }
+
+    @Override
+    public void getRow(int i, float[] target, int offset) {
+        System.arraycopy(values, i * rank, target, offset, rank);
+    }
+
+    @Override
+    public void setRow(int i, float[] row) {
+        System.arraycopy(row, 0, values, i * rank, rank);
+    }
+
+    @Override
+    public FloatBuffer row(int i) {
+        return FloatBuffer.wrap(values, i * rank, rank).slice();
+    }
+
+    @Override
+    public float dot(int i, float[] x, int from, int to) {
+        return Kernels.INSTANCE.dot(values, i * rank + from, x, from, to - from);
+    }
+}
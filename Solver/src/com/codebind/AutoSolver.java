@@ -0,0 +1,303 @@
+package com.codebind;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Решатель СЛАУ с автоматическим выбором метода.
+ * Матрица анализируется один раз (MatrixAnalysis), по её структуре составляется
+ * список применимых методов от самого быстрого к самому надёжному.
+ * Если метод не нашёл решения, используется следующий; причина выбора доступна через getReason().
+ * @autor Epishov
+ * @version 1.0
+ */
+public class AutoSolver extends AbstractSolver {
+
+    /**
+     * Минимальная размерность, начиная с которой имеет смысл разреженное хранение
+     */
+    static final int SPARSE_MIN_RANK = 200;
+
+    /**
+     * Наибольшая доля ненулевых элементов, при которой матрица считается разреженной
+     */
+    static final double SPARSE_DENSITY = 0.05;
+
+    /**
+     * Наибольшая ширина ленты (количество диагоналей), при которой применяется ленточное LU-разложение:
+     * его стоимость O(n·w²) против O(nnz) на итерацию у итерационных методов
+     */
+    static final int BANDED_MAX_WIDTH = 64;
+
+    /**
+     * Минимальная размерность, начиная с которой прямой ход Гаусса распараллеливается
+     */
+    static final int PARALLEL_MIN_RANK = 256;
+
+    /**
+     * Минимальная размерность, начиная с которой плотная матрица с диагональным преобладанием
+     * решается методом Зейделя (O(n²) на итерацию против O(n³) у метода Гаусса)
+     */
+    static final int ITERATIVE_MIN_RANK = 1000;
+
+    /**
+     * Наибольшая размерность разреженной матрицы, которую допускается развернуть
+     * в плотную для метода Гаусса, если итерационные методы не сошлись
+     */
+    static final int DENSE_FALLBACK_RANK = 4096;
+
+    /**
+     * Результат анализа матрицы
+     */
+    private MatrixAnalysis analysis;
+
+    /**
+     * Методы-кандидаты в порядке применения (null - метод Гаусса для развёрнутой разреженной матрицы)
+     */
+    private List<AbstractSolver> candidates;
+
+    /**
+     * Причины выбора кандидатов
+     */
+    private List<String> reasons;
+
+    /**
+     * Номер текущего кандидата
+     */
+    private int current;
+
+    /**
+     * Метод, выполняющийся в данный момент (для передачи ему отмены из другого потока)
+     */
+    private volatile AbstractSolver active;
+
+    /**
+     * Метод, нашедший решение
+     */
+    private AbstractSolver selected;
+
+    /**
+     * Пояснение выбора метода
+     */
+    private StringBuilder reason;
+
+    /**
+     * Конструктор класса
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public AutoSolver(float[][] coeff, float[] freeCoeff){
+        super(coeff, freeCoeff);
+    }
+
+    /**
+     * Конструктор класса для разреженной матрицы коэффициентов
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public AutoSolver(SparseMatrix sparse, float[] freeCoeff){
+        super(sparse, freeCoeff);
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public AutoSolver(DenseMatrix matrix, float[] freeCoeff){
+        super(matrix, freeCoeff);
+    }
+
+    /**
+     * Анализ структуры матрицы (выполняется один раз)
+     * @return Результат анализа
+     */
+    public MatrixAnalysis getAnalysis() {
+        if (analysis == null) {
+            analysis = sparse != null ? new MatrixAnalysis(sparse) : new MatrixAnalysis(getMatrix());
+        }
+        return analysis;
+    }
+
+    /**
+     * Составление списка применимых методов по результатам анализа матрицы.
+     * Плотная матрица передаётся выбранным методам в непрерывном хранилище (getMatrix()).
+     */
+    private void select() {
+        MatrixAnalysis a = getAnalysis();
+        int n = a.getRank();
+        candidates = new ArrayList<>();
+        reasons = new ArrayList<>();
+        reason = new StringBuilder("Матрица: ").append(a).append(".\r\n");
+
+        DenseMatrix dense = getMatrix();
+        int width = a.getBandwidth();
+        if (width <= BANDED_MAX_WIDTH && 2 * width <= n) {
+            //Ленточные методы точны и быстрее остальных; при вырожденности перебор продолжается
+            if (a.getLowerBandwidth() <= 1 && a.getUpperBandwidth() <= 1) {
+                candidates.add(sparse != null ? new TridiagonalSolver(sparse, freeCoeff) : new TridiagonalSolver(dense, freeCoeff, a));
+                reasons.add("метод прогонки: трёхдиагональная матрица, O(n)");
+            } else {
+                candidates.add(sparse != null ? new BandedSolver(sparse, freeCoeff) : new BandedSolver(dense, freeCoeff, a));
+                reasons.add("ленточное LU-разложение: ширина ленты " + width + " при n = " + n);
+            }
+        }
+        SparseMatrix csr = sparse;
+        if (csr == null && n >= SPARSE_MIN_RANK && a.getDensity() <= SPARSE_DENSITY) {
+            csr = SparseMatrix.fromDense(dense);
+        }
+        if (csr != null) {
+            if (a.isSymmetric() && a.isPositiveDiagonal()) {
+                candidates.add(new ConjugateGradientSolver(csr, freeCoeff, new IncompleteCholeskyPreconditioner()));
+                reasons.add("метод сопряжённых градиентов с предобусловливателем IC(0): разреженная симметричная матрица с положительной диагональю");
+            }
+            if (!a.hasZeroDiagonal()) {
+                GMRESSolver gmres = new GMRESSolver(csr, freeCoeff);
+                gmres.preconditioner = new JacobiPreconditioner();
+                candidates.add(gmres);
+                reasons.add("метод GMRES с предобусловливателем Якоби: разреженная матрица с ненулевой диагональю");
+            } else {
+                candidates.add(new GMRESSolver(csr, freeCoeff));
+                reasons.add("метод GMRES: разреженная матрица с нулевыми диагональными элементами");
+            }
+            candidates.add(new BiCGStabSolver(csr, freeCoeff));
+            reasons.add("метод BiCGSTAB: разреженная несимметричная матрица");
+            if (dense != null) {
+                addCholesky(dense, a);
+                addGauss(dense, "прямой метод для плотно хранимой матрицы");
+            } else if (n <= DENSE_FALLBACK_RANK) {
+                candidates.add(null);
+                reasons.add("метод Гаусса: итерационные методы не сошлись, матрица развёрнута в плотную");
+            }
+            return;
+        }
+        if (n >= ITERATIVE_MIN_RANK && a.isDiagonallyDominant()) {
+            candidates.add(new ZeidelSolver(dense, freeCoeff));
+            reasons.add("метод Зейделя: плотная матрица большой размерности с диагональным преобладанием (сходимость гарантирована)");
+        }
+        addCholesky(dense, a);
+        addGauss(dense, n < PARALLEL_MIN_RANK ? "плотная матрица малой размерности" : "плотная матрица");
+    }
+
+    /**
+     * Добавление метода Холецкого для симметричной матрицы с положительной диагональю
+     * (необходимое условие положительной определённости; достаточность проверяется при разложении)
+     * @param matrix Плотная матрица коэффициентов
+     * @param a Результат анализа матрицы
+     */
+    private void addCholesky(DenseMatrix matrix, MatrixAnalysis a) {
+        if (a.isSymmetric() && a.isPositiveDiagonal()) {
+            CholeskySolver cholesky = new CholeskySolver(matrix, freeCoeff);
+            cholesky.fallback = false; //Метод Гаусса следует в списке отдельным кандидатом
+            candidates.add(cholesky);
+            reasons.add("метод Холецкого: симметричная матрица с положительной диагональю (вдвое меньше операций и памяти, чем у LU)");
+        }
+    }
+
+    /**
+     * Добавление метода Гаусса (параллельного для больших матриц на многопроцессорной машине)
+     * @param matrix Плотная матрица коэффициентов
+     * @param why Пояснение
+     */
+    private void addGauss(DenseMatrix matrix, String why) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (matrix.getRank() >= PARALLEL_MIN_RANK && processors > 1) {
+            candidates.add(new ParallelGaussSolver(matrix, freeCoeff, processors));
+            reasons.add("параллельный метод Гаусса: " + why + ", процессоров " + processors);
+        } else {
+            candidates.add(new GaussSolver(matrix, freeCoeff));
+            reasons.add("метод Гаусса: " + why);
+        }
+    }
+
+    /**
+     * Поиск решения СЛАУ выбранным методом.
+     * При повторном вызове с новым вектором свободных членов используется ранее выбранный метод
+     * (для метода Гаусса - уже выполненное разложение).
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если ни один метод не нашёл решения
+     */
+    @Override
+    public float[] solve() {
+        if (candidates == null) {
+            phase(SolverStatistics.SETUP);
+            select();
+            phase(SolverStatistics.SOLVE);
+        }
+        for (; current < candidates.size(); current++) {
+            AbstractSolver solver = candidates.get(current);
+            if (solver == null) {
+                solver = new GaussSolver(sparse.toDense(), freeCoeff);
+                candidates.set(current, solver);
+            }
+            active = solver;
+            //Проверка после публикации active: отмена, запрошенная позже, дойдёт до solver через cancel()
+            if (isCancelled()) {
+                reason.append("Решение отменено.\r\n");
+                return null;
+            }
+            //При сборе статистики она собирается и для кандидатов (итерации и причина окончания выбранного метода)
+            float[] result = isMeasured() ? solver.measure(freeCoeff, false).getSolution() : solver.solve(freeCoeff);
+            active = null;
+            if (result != null) {
+                if (selected != solver) {
+                    selected = solver;
+                    reason.append("Выбран ").append(reasons.get(current)).append(".");
+                }
+                return result;
+            }
+            reason.append("Не удалось решить: ").append(reasons.get(current));
+            if (solver instanceof IterationSolver) {
+                reason.append(" (").append(((IterationSolver) solver).getStatus()).append(")");
+            }
+            reason.append(".\r\n");
+        }
+        //Все методы исчерпаны: при следующем вызове перебор начинается заново
+        current = 0;
+        selected = null;
+        return null;
+    }
+
+    /**
+     * Итерации, причина окончания и история нормы метода, нашедшего решение
+     * @param statistics Статистика завершившегося решения
+     */
+    @Override
+    protected void collect(SolverStatistics statistics) {
+        AbstractSolver solver = selected;
+        SolverStatistics selectedStatistics = solver == null ? null : solver.getStatistics();
+        if (selectedStatistics != null) {
+            statistics.selected = selectedStatistics.getMethod();
+            statistics.iterations = selectedStatistics.getIterations();
+            statistics.status = selectedStatistics.getStatus();
+            statistics.trace = selectedStatistics.getTrace();
+        }
+    }
+
+    /**
+     * Запрос на отмену решения, в том числе выполняющегося в данный момент метода
+     */
+    @Override
+    public void cancel() {
+        super.cancel();
+        AbstractSolver solver = active;
+        if (solver != null) {
+            solver.cancel();
+        }
+    }
+
+    /**
+     * Получение метода, нашедшего решение
+     * @return Решатель или null, если решение не найдено
+     */
+    public AbstractSolver getSelected() {
+        return selected;
+    }
+
+    /**
+     * Получение пояснения, почему выбран метод
+     * @return Текст пояснения (пустая строка, если решение ещё не выполнялось)
+     */
+    public String getReason() {
+        return reason == null ? "" : reason.toString();
+    }
+}
@@ -0,0 +1,293 @@
+package com.codebind;
+
+/**
+ * Класс решения СЛАУ с ленточной матрицей LU-разложением с частичным выбором ведущего элемента.
+ * Хранится только лента: строка i содержит элементы столбцов [i - lower, i + upper],
+ * при разложении лента расширяется вверх на lower диагоналей (заполнение от перестановок строк).
+ * Время разложения O(n·lower·(lower + upper)), память O(n·(2·lower + upper + 1)),
+ * поэтому системы с миллионами неизвестных и узкой лентой решаются за миллисекунды.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class BandedSolver extends AbstractSolver {
+
+    /**
+     * Размерность матрицы
+     */
+    private final int rank;
+
+    /**
+     * Количество диагоналей под главной
+     */
+    private final int lower;
+
+    /**
+     * Количество диагоналей над главной
+     */
+    private final int upper;
+
+    /**
+     * Лента исходной матрицы по строкам: a_ij = band[i·(lower + upper + 1) + j - i + lower]
+     */
+    private final float[] band;
+
+    /**
+     * Разложение: строки шириной 2·lower + upper + 1, элемент (i, j) по смещению j - i + lower;
+     * на месте элементов под диагональю хранятся множители исключения
+     */
+    private float[] lu;
+
+    /**
+     * Номера строк, переставленных со строкой k на шаге k
+     */
+    private int[] pivot;
+
+    /**
+     * Признак вырожденности матрицы
+     */
+    private boolean singular;
+
+    /**
+     * Конструктор класса для ленты, заданной в компактном виде
+     * @param lower Количество диагоналей под главной
+     * @param upper Количество диагоналей над главной
+     * @param band Лента по строкам: n строк по lower + upper + 1 элементов, a_ij = band[i·(lower + upper + 1) + j - i + lower]
+     *             (элементы вне матрицы в первых и последних строках не используются)
+     * @param freeCoeff Вектор свободных членов
+     * @throws IllegalArgumentException если размер ленты не соответствует размерности
+     */
+    public BandedSolver(int lower, int upper, float[] band, float[] freeCoeff) {
+        super((float[][]) null, freeCoeff);
+        this.rank = freeCoeff.length;
+        this.lower = lower;
+        this.upper = upper;
+        if (lower < 0 || upper < 0 || band.length != (long) rank * (lower + upper + 1)) {
+            throw new IllegalArgumentException("Размер ленты не соответствует размерности системы.");
+        }
+        this.band = band;
+    }
+
+    /**
+     * Конструктор класса. Ширина ленты определяется по ненулевым элементам матрицы.
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public BandedSolver(float[][] coeff, float[] freeCoeff) {
+        super(coeff, freeCoeff);
+        MatrixAnalysis analysis = new MatrixAnalysis(coeff);
+        rank = coeff.length;
+        lower = analysis.getLowerBandwidth();
+        upper = analysis.getUpperBandwidth();
+        band = new float[rank * (lower + upper + 1)];
+        for (int i = 0; i < rank; i++) {
+            for (int j = Math.max(0, i - lower); j <= Math.min(rank - 1, i + upper); j++) {
+                band[index(i, j)] = coeff[i][j];
+            }
+        }
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public BandedSolver(DenseMatrix matrix, float[] freeCoeff) {
+        this(matrix, freeCoeff, new MatrixAnalysis(matrix));
+    }
+
+    /**
+     * Конструктор класса по готовому результату анализа матрицы
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     * @param analysis Результат анализа матрицы (ширина ленты)
+     */
+    BandedSolver(DenseMatrix matrix, float[] freeCoeff, MatrixAnalysis analysis) {
+        super(matrix, freeCoeff);
+        rank = matrix.getRank();
+        lower = analysis.getLowerBandwidth();
+        upper = analysis.getUpperBandwidth();
+        band = new float[rank * (lower + upper + 1)];
+        for (int i = 0; i < rank; i++) {
+            for (int j = Math.max(0, i - lower); j <= Math.min(rank - 1, i + upper); j++) {
+                band[index(i, j)] = matrix.get(i, j);
+            }
+        }
+    }
+
+    /**
+     * Конструктор класса для разреженной матрицы коэффициентов (лента заполняется за O(nnz))
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public BandedSolver(SparseMatrix sparse, float[] freeCoeff) {
+        super(sparse, freeCoeff);
+        MatrixAnalysis analysis = new MatrixAnalysis(sparse);
+        rank = sparse.getRank();
+        lower = analysis.getLowerBandwidth();
+        upper = analysis.getUpperBandwidth();
+        band = new float[rank * (lower + upper + 1)];
+        for (int i = 0; i < rank; i++) {
+            for (int k = sparse.rowStart[i]; k < sparse.rowStart[i + 1]; k++) {
+                band[index(i, sparse.columns[k])] += sparse.values[k];
+            }
+        }
+    }
+
+    /**
+     * Индекс элемента ленты исходной матрицы
+     * @param i Номер строки
+     * @param j Номер столбца (|j - i| в пределах ленты)
+     * @return Индекс в массиве band
+     */
+    private int index(int i, int j) {
+        return i * (lower + upper + 1) + j - i + lower;
+    }
+
+    @Override
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Получение количества диагоналей под главной
+     * @return Ширина ленты под диагональю
+     */
+    public int getLowerBandwidth() {
+        return lower;
+    }
+
+    /**
+     * Получение количества диагоналей над главной
+     * @return Ширина ленты над диагональю
+     */
+    public int getUpperBandwidth() {
+        return upper;
+    }
+
+    /**
+     * Поиск решения СЛАУ. Разложение выполняется при первом вызове,
+     * повторные вызовы solve(float[]) с новым вектором свободных членов стоят O(n·(lower + upper)).
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если матрица вырождена
+     */
+    @Override
+    public float[] solve() {
+        if (lu == null && !singular) {
+            phase(SolverStatistics.FACTORIZATION);
+            factor();
+        }
+        if (singular || lu == null) {
+            return null;
+        }
+        phase(SolverStatistics.SUBSTITUTION);
+        return substitute(freeCoeff);
+    }
+
+    /**
+     * Вычисление относительной невязки по ленте исходной матрицы за O(n·(lower + upper))
+     * @param x Приближённое решение
+     * @return Относительная невязка ||b - A·x|| / ||b|| (максимум-норма)
+     */
+    @Override
+    protected double relativeResidual(float[] x) {
+        double residual = 0;
+        double scale = 0;
+        for (int i = 0; i < rank; i++) {
+            double sum = 0;
+            for (int j = Math.max(0, i - lower); j <= Math.min(rank - 1, i + upper); j++) {
+                sum += (double) band[index(i, j)] * x[j];
+            }
+            residual = Math.max(residual, Math.abs(freeCoeff[i] - sum));
+            scale = Math.max(scale, Math.abs(freeCoeff[i]));
+        }
+        return scale == 0 ? residual : residual / scale;
+    }
+
+    /**
+     * Разложение ленты на месте: на шаге k обновляются только строки [k + 1, k + lower]
+     * и столбцы [k + 1, k + lower + upper]
+     */
+    private void factor() {
+        int n = rank;
+        int width = 2 * lower + upper + 1;
+        float[] a = new float[n * width];
+        int bandWidth = lower + upper + 1;
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(band, i * bandWidth, a, i * width, bandWidth);
+        }
+        int[] swaps = new int[n];
+        Kernels kernels = Kernels.INSTANCE;
+        for (int k = 0; k < n; k++) {
+            if (isCancelled()) {
+                return;
+            }
+            int last = Math.min(n - 1, k + lower);
+            int p = k;
+            float max = Math.abs(a[k * width + lower]);
+            for (int i = k + 1; i <= last; i++) {
+                float value = Math.abs(a[i * width + k - i + lower]);
+                if (value > max) {
+                    max = value;
+                    p = i;
+                }
+            }
+            if (max == 0) {
+                singular = true;
+                return;
+            }
+            swaps[k] = p;
+            int length = Math.min(n - 1, k + lower + upper) - k;
+            int kk = k * width + lower;
+            if (p != k) { //Перестановка строк k и p в столбцах [k, k + lower + upper]
+                int pk = p * width + k - p + lower;
+                for (int j = 0; j <= length; j++) {
+                    float t = a[kk + j];
+                    a[kk + j] = a[pk + j];
+                    a[pk + j] = t;
+                }
+            }
+            float diagonal = a[kk];
+            for (int i = k + 1; i <= last; i++) {
+                int ik = i * width + k - i + lower;
+                float factor = a[ik] / diagonal;
+                a[ik] = factor;
+                if (factor != 0) {
+                    kernels.axpy(-factor, a, kk + 1, a, ik + 1, length);
+                }
+            }
+        }
+        pivot = swaps;
+        lu = a;
+    }
+
+    /**
+     * Прямая и обратная подстановка по разложению
+     * @param b Вектор свободных членов
+     * @return Решение системы
+     */
+    private float[] substitute(float[] b) {
+        int n = rank;
+        int width = 2 * lower + upper + 1;
+        float[] a = lu;
+        float[] x = b.clone();
+        for (int k = 0; k < n; k++) {
+            int p = pivot[k];
+            float xk = x[p];
+            x[p] = x[k];
+            x[k] = xk;
+            if (xk == 0) {
+                continue;
+            }
+            int last = Math.min(n - 1, k + lower);
+            for (int i = k + 1; i <= last; i++) {
+                x[i] -= a[i * width + k - i + lower] * xk;
+            }
+        }
+        Kernels kernels = Kernels.INSTANCE;
+        for (int k = n - 1; k >= 0; k--) {
+            int kk = k * width + lower;
+            int length = Math.min(n - 1, k + lower + upper) - k;
+            x[k] = (x[k] - kernels.dot(a, kk + 1, x, k + 1, length)) / a[kk];
+        }
+        return x;
+    }
+}
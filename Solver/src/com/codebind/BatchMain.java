@@ -0,0 +1,410 @@
+package com.codebind;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Пакетное решение СЛАУ из файлов без графического интерфейса.
+ * Системы читаются потоково из текстовых файлов (SystemReader) или из двоичных файлов,
+ * отображённых в память (MatrixFile), решаются в пуле потоков выбранным методом,
+ * решения выводятся в порядке следования систем во входных файлах - по одной строке на систему.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class BatchMain {
+
+    /**
+     * Количество систем в обработке на один поток: ограничивает расход памяти при чтении больших файлов
+     */
+    static final int QUEUE_PER_THREAD = 64;
+
+    /**
+     * Имена методов решения, известные createSolver
+     */
+    static final Set<String> METHODS = Set.of("auto", "gauss", "cholesky", "parallel-gauss", "mixed", "double-gauss",
+            "kramer", "matrix", "jacobi", "zeidel", "relaxation", "cg", "gmres", "bicgstab", "banded", "tridiagonal");
+
+    /**
+     * Имя метода решения
+     */
+    String solverName = "auto";
+
+    /**
+     * Количество потоков
+     */
+    int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Файл для вывода решений (null - стандартный вывод)
+     */
+    String output;
+
+    /**
+     * Вывод статистики каждого решения в стандартный поток ошибок
+     */
+    boolean statistics;
+
+    /**
+     * Кэш решателей и решений для повторяющихся систем (null - без кэша)
+     */
+    SolverCache cache;
+
+    /**
+     * Входные файлы ("-" - стандартный ввод)
+     */
+    final List<String> inputs = new ArrayList<>();
+
+    /**
+     * Количество решённых систем
+     */
+    int solved;
+
+    /**
+     * Количество систем, для которых решение не найдено
+     */
+    int failed;
+
+    /**
+     * Входная точка пакетного режима
+     * @param args Аргументы командной строки
+     */
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * Выполнение пакетного решения
+     * @param args Аргументы командной строки
+     * @return Код завершения: 0 - все системы решены, 1 - есть системы без решения, 2 - ошибка
+     */
+    public static int run(String[] args) {
+        Locale.setDefault(Locale.US);
+        BatchMain batch = new BatchMain();
+        try {
+            if (!batch.parseArguments(args)) {
+                printUsage();
+                return 2;
+            }
+            if (!METHODS.contains(batch.solverName)) {
+                throw new IllegalArgumentException("Неизвестный метод решения '" + batch.solverName + "'.");
+            }
+            if (batch.statistics) {
+                SolverStatistics.addListener((solver, statistics) -> System.err.println(statistics));
+            }
+            long start = System.nanoTime();
+            batch.solveAll();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            int total = batch.solved + batch.failed;
+            System.err.printf("Решено систем: %d из %d за %.3f с (%.0f систем/с).%n",
+                    batch.solved, total, seconds, total / Math.max(seconds, 1e-9));
+            if (batch.cache != null) {
+                System.err.println(batch.cache);
+            }
+            return batch.failed == 0 ? 0 : 1;
+        } catch (IllegalArgumentException | IOException ex) {
+            System.err.println(ex.getMessage());
+            return 2;
+        }
+    }
+
+    /**
+     * Разбор аргументов командной строки
+     * @param args Аргументы командной строки
+     * @return false, если аргументы некорректны или запрошена справка
+     */
+    boolean parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--solver":
+                case "--threads":
+                case "--output":
+                case "--cache":
+                    if (i + 1 == args.length) {
+                        return false;
+                    }
+                    String value = args[++i];
+                    if (arg.equals("--solver")) {
+                        solverName = value;
+                    } else if (arg.equals("--output")) {
+                        output = value;
+                    } else if (arg.equals("--cache")) {
+                        try {
+                            long megabytes = Long.parseLong(value);
+                            if (megabytes <= 0) {
+                                return false;
+                            }
+                            cache = new SolverCache(megabytes << 20);
+                        } catch (NumberFormatException ex) {
+                            return false;
+                        }
+                    } else {
+                        try {
+                            threads = Integer.parseInt(value);
+                        } catch (NumberFormatException ex) {
+                            return false;
+                        }
+                        if (threads <= 0) {
+                            return false;
+                        }
+                    }
+                    break;
+                case "--stats":
+                    statistics = true;
+                    break;
+                case "--help":
+                    return false;
+                default:
+                    if (arg.startsWith("--")) {
+                        return false;
+                    }
+                    inputs.add(arg);
+            }
+        }
+        if (inputs.isEmpty()) {
+            inputs.add("-");
+        }
+        return true;
+    }
+
+    /**
+     * Вывод справки по аргументам командной строки
+     */
+    static void printUsage() {
+        System.err.println("Использование: java -jar Solver.jar [--solver метод] [--threads n] [--output файл] [--stats] [--cache МБ] [файл ...]");
+        System.err.println("  метод: auto, gauss, cholesky, parallel-gauss, mixed, double-gauss, kramer, matrix, jacobi, zeidel, relaxation,");
+        System.err.println("         cg, gmres, bicgstab, banded, tridiagonal");
+        System.err.println("  --stats: статистика каждого решения (время по этапам, итерации, невязка, память) в поток ошибок");
+        System.err.println("  --cache: кэш разложений и решений указанного объёма для повторяющихся систем и матриц");
+        System.err.println("  файл: системы в формате 'n, затем n строк по n + 1 чисел' или двоичный файл MatrixFile;");
+        System.err.println("        '-' или отсутствие файлов - стандартный ввод");
+    }
+
+    /**
+     * Создание решателя по имени метода.
+     * Итерационные, ленточные методы и автоматический выбор работают с разреженной матрицей напрямую,
+     * для прямых методов разреженная матрица разворачивается в плотную.
+     * @param name Имя метода
+     * @param system Система уравнений
+     * @return Решатель
+     * @throws IllegalArgumentException если метод неизвестен
+     */
+    static AbstractSolver createSolver(String name, LinearSystem system) {
+        float[] freeCoeff = system.freeCoeff;
+        SparseMatrix sparse = system.sparse;
+        if (sparse != null) {
+            switch (name) {
+                case "auto":
+                    return new AutoSolver(sparse, freeCoeff);
+                case "jacobi":
+                    return new JacobiSolver(sparse, freeCoeff);
+                case "zeidel":
+                    return new ZeidelSolver(sparse, freeCoeff);
+                case "relaxation":
+                    return new RelaxationSolver(sparse, freeCoeff);
+                case "cg":
+                    return new ConjugateGradientSolver(sparse, freeCoeff);
+                case "gmres":
+                    return new GMRESSolver(sparse, freeCoeff);
+                case "bicgstab":
+                    return new BiCGStabSolver(sparse, freeCoeff);
+                case "banded":
+                    return new BandedSolver(sparse, freeCoeff);
+                case "tridiagonal":
+                    return new TridiagonalSolver(sparse, freeCoeff);
+            }
+        }
+        DenseMatrix coeff = sparse != null ? DenseMatrix.of(sparse.toDense()) : system.matrix;
+        switch (name) {
+            case "auto":
+                return new AutoSolver(coeff, freeCoeff);
+            case "gauss":
+                return new GaussSolver(coeff, freeCoeff);
+            case "cholesky":
+                return new CholeskySolver(coeff, freeCoeff);
+            case "parallel-gauss":
+                return new ParallelGaussSolver(coeff, freeCoeff);
+            case "mixed":
+                return new DoubleSolverAdapter(coeff, freeCoeff, MixedPrecisionSolver::new);
+            case "double-gauss":
+                return new DoubleSolverAdapter(coeff, freeCoeff, DoubleGaussSolver::new);
+            case "kramer":
+                return new KramerSolver(coeff, freeCoeff);
+            case "matrix":
+                return new MatrixSolver(coeff, freeCoeff);
+            case "jacobi":
+                return new JacobiSolver(coeff, freeCoeff);
+            case "zeidel":
+                return new ZeidelSolver(coeff, freeCoeff);
+            case "relaxation":
+                return new RelaxationSolver(coeff, freeCoeff);
+            case "cg":
+                return new ConjugateGradientSolver(coeff, freeCoeff);
+            case "gmres":
+                return new GMRESSolver(coeff, freeCoeff);
+            case "bicgstab":
+                return new BiCGStabSolver(coeff, freeCoeff);
+            case "banded":
+                return new BandedSolver(coeff, freeCoeff);
+            case "tridiagonal":
+                return new TridiagonalSolver(coeff, freeCoeff);
+            default:
+                throw new IllegalArgumentException("Неизвестный метод решения '" + name + "'.");
+        }
+    }
+
+    /**
+     * Чтение, решение и вывод всех систем из входных файлов
+     * @throws IOException при ошибке чтения или записи
+     */
+    void solveAll() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        OutputStream stream = output == null ? new FilterOutputStream(System.out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                //Стандартный вывод не закрывается
+                flush();
+            }
+        } : new FileOutputStream(output);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), SystemReader.BUFFER_SIZE)) {
+            ArrayDeque<Future<float[]>> queue = new ArrayDeque<>();
+            int limit = threads * QUEUE_PER_THREAD;
+            for (String input : inputs) {
+                if (!input.equals("-") && MatrixFile.isMatrixFile(Paths.get(input))) {
+                    //Двоичный файл содержит одну систему; плотная матрица во float решается прямо в отображённой памяти
+                    try (MatrixFile file = new MatrixFile(Paths.get(input))) {
+                        if (!file.isSparse() && file.getPrecision() == 4) {
+                            submit(executor, queue, new LinearSystem(file.map(), file.readFreeCoeff()));
+                        } else {
+                            submit(executor, queue, file.read());
+                        }
+                    }
+                    if (queue.size() >= limit) {
+                        write(writer, queue.poll());
+                    }
+                } else {
+                    try (SystemReader reader = new SystemReader(open(input))) {
+                        LinearSystem system;
+                        while ((system = reader.read()) != null) {
+                            submit(executor, queue, system);
+                            if (queue.size() >= limit) {
+                                write(writer, queue.poll());
+                            }
+                        }
+                    }
+                }
+            }
+            while (!queue.isEmpty()) {
+                write(writer, queue.poll());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Передача системы на решение в пул потоков
+     * @param executor Пул потоков
+     * @param queue Очередь результатов в порядке поступления систем
+     * @param system Система уравнений
+     */
+    void submit(ExecutorService executor, ArrayDeque<Future<float[]>> queue, LinearSystem system) {
+        if (statistics) {
+            queue.add(executor.submit(() -> createSolver(system).solveWithStatistics().getSolution()));
+        } else {
+            queue.add(executor.submit(() -> createSolver(system).solve()));
+        }
+    }
+
+    /**
+     * Создание решателя выбранным методом (через кэш, если он задан)
+     * @param system Система уравнений
+     * @return Решатель
+     */
+    AbstractSolver createSolver(LinearSystem system) {
+        if (cache == null) {
+            return createSolver(solverName, system);
+        }
+        if (system.sparse != null) {
+            return new CachingSolver(cache, solverName, system.sparse, system.freeCoeff);
+        }
+        return new CachingSolver(cache, solverName, system.matrix, system.freeCoeff);
+    }
+
+    /**
+     * Открытие входного файла
+     * @param input Имя файла или "-" для стандартного ввода
+     * @return Поток данных
+     * @throws IOException если файл не удаётся открыть
+     */
+    static InputStream open(String input) throws IOException {
+        if (input.equals("-")) {
+            return new BufferedInputStream(System.in) {
+                @Override
+                public void close() {
+                    //Стандартный ввод не закрывается
+                }
+            };
+        }
+        return new FileInputStream(input);
+    }
+
+    /**
+     * Вывод решения очередной системы (с ожиданием его готовности)
+     * @param writer Поток вывода
+     * @param future Результат решения
+     * @throws IOException при ошибке записи
+     */
+    void write(Writer writer, Future<float[]> future) throws IOException {
+        int index = solved + failed + 1;
+        float[] result;
+        try {
+            result = future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Решение прервано.");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            System.err.println("# " + index + ": " + (cause.getMessage() != null ? cause.getMessage() : cause));
+            result = null;
+        }
+        if (result == null) {
+            failed++;
+            writer.write("# " + index + ": решение не найдено\n");
+            return;
+        }
+        solved++;
+        StringBuilder line = new StringBuilder(result.length * 12);
+        for (int i = 0; i < result.length; i++) {
+            if (i > 0) {
+                line.append(' ');
+            }
+            line.append(result[i]);
+        }
+        writer.append(line).append('\n');
+    }
+}
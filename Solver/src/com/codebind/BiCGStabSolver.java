@@ -0,0 +1,151 @@
+package com.codebind;
+
+import java.util.Arrays;
+
+/**
+ * Реализация решения СЛАУ с несимметричной матрицей стабилизированным
+ * методом бисопряжённых градиентов (BiCGSTAB) с предобусловливанием
+ * @autor Epishov
+ * @version 1.0
+ */
+public class BiCGStabSolver extends KrylovSolver {
+
+    /**
+     * Конструктор класса
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public BiCGStabSolver(float[][] coeff, float[] freeCoeff){
+        super(coeff, freeCoeff);
+    }
+
+    /**
+     * Конструктор класса для разреженной матрицы коэффициентов
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public BiCGStabSolver(SparseMatrix sparse, float[] freeCoeff){
+        super(sparse, freeCoeff);
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public BiCGStabSolver(DenseMatrix matrix, float[] freeCoeff){
+        super(matrix, freeCoeff);
+    }
+
+    /**
+     * Поиск решения СЛАУ.
+     * Каждая итерация - два умножения матрицы на вектор; итерации завершаются,
+     * когда относительная невязка ||b - A·x|| / ||b|| становится меньше eps.
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если решение не найдено
+     */
+    @Override
+    public float[] solve() {
+        phase(SolverStatistics.SETUP);
+        int n = getRank();
+        float[] b = freeCoeff;
+        float[] r = new float[n];
+        float[] p = new float[n];
+        float[] v = new float[n];
+        float[] s = new float[n];
+        float[] t = new float[n];
+        float[] pHat = new float[n];
+        float[] sHat = new float[n];
+
+        monitor.start(eps, maxIterations);
+        double bNorm = norm(b);
+        if (bNorm == 0) {
+            monitor.stop(ConvergenceMonitor.Status.CONVERGED);
+            return new float[n];
+        }
+        float[] x = start(r);
+        double trueNorm = norm(r);
+        if (trueNorm < eps * bNorm) { //Начальное приближение уже достаточно точно
+            monitor.stop(ConvergenceMonitor.Status.CONVERGED);
+            return result(x);
+        }
+        float[] rHat = r.clone();
+        setupPreconditioner();
+        double rho = 1;
+        double alpha = 1;
+        double omega = 1;
+        while (true) {
+            double rhoNext = dot(rHat, r);
+            if (rhoNext == 0 || omega == 0) {
+                monitor.stop(ConvergenceMonitor.Status.BREAKDOWN);
+                break;
+            }
+            float beta = (float) ((rhoNext / rho) * (alpha / omega));
+            float omegaF = (float) omega;
+            for (int i = 0; i < n; i++) {
+                p[i] = r[i] + beta * (p[i] - omegaF * v[i]);
+            }
+            precondition(p, pHat);
+            multiply(pHat, v);
+            double rHatV = dot(rHat, v);
+            if (rHatV == 0) {
+                monitor.stop(ConvergenceMonitor.Status.BREAKDOWN);
+                break;
+            }
+            alpha = rhoNext / rHatV;
+            float alphaF = (float) alpha;
+            for (int i = 0; i < n; i++) {
+                s[i] = r[i] - alphaF * v[i];
+            }
+            if (norm(s) < eps * bNorm) {
+                for (int i = 0; i < n; i++) {
+                    x[i] += alphaF * pHat[i];
+                    r[i] = s[i];
+                }
+                omega = 1;
+            } else {
+                precondition(s, sHat);
+                multiply(sHat, t);
+                double tt = dot(t, t);
+                omega = tt == 0 ? 0 : dot(t, s) / tt;
+                omegaF = (float) omega;
+                for (int i = 0; i < n; i++) {
+                    x[i] += alphaF * pHat[i] + omegaF * sHat[i];
+                    r[i] = s[i] - omegaF * t[i];
+                }
+            }
+            if (monitor.nextResidual(norm(r) / bNorm)) {
+                rho = rhoNext;
+                continue;
+            }
+            if (monitor.getStatus() != ConvergenceMonitor.Status.CONVERGED) {
+                break;
+            }
+            //Рекуррентная невязка в float может отойти от истинной:
+            //истинная невязка проверяется явно, при необходимости метод перезапускается с неё
+            multiply(x, r);
+            for (int i = 0; i < n; i++) {
+                r[i] = b[i] - r[i];
+            }
+            double restartNorm = norm(r);
+            if (restartNorm < eps * bNorm) {
+                break;
+            }
+            if (!(restartNorm < trueNorm)) {
+                monitor.stop(ConvergenceMonitor.Status.STAGNATED);
+                break;
+            }
+            if (monitor.getIterations() >= maxIterations) {
+                monitor.stop(ConvergenceMonitor.Status.MAX_ITERATIONS);
+                break;
+            }
+            trueNorm = restartNorm;
+            System.arraycopy(r, 0, rHat, 0, n);
+            Arrays.fill(p, 0);
+            Arrays.fill(v, 0);
+            rho = 1;
+            alpha = 1;
+            omega = 1;
+        }
+        return result(x);
+    }
+}
@@ -0,0 +1,122 @@
+package com.codebind;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Плотная матрица вне кучи: строки хранятся в буферах FloatBuffer участками по rowsPerChunk строк
+ * (размер одного буфера ограничен 2 ГиБ). Используется для матриц, не помещающихся в массив
+ * или в кучу, и для файлов, отображённых в память (MatrixFile.map()).
+ * @autor Epishov
+ * @version 1.0
+ */
+public class BufferMatrix extends DenseMatrix {
+
+    /**
+     * Наибольший размер одного участка, байт
+     */
+    static final long MAX_CHUNK = Integer.MAX_VALUE & ~7L;
+
+    /**
+     * Участки матрицы; участок k содержит строки [k·rowsPerChunk, (k + 1)·rowsPerChunk)
+     */
+    private final FloatBuffer[] chunks;
+
+    /**
+     * Количество строк в одном участке
+     */
+    private final int rowsPerChunk;
+
+    /**
+     * Создание нулевой матрицы в прямых (direct) буферах вне кучи
+     * @param rank Размерность матрицы
+     */
+    public BufferMatrix(int rank) {
+        super(rank);
+        rowsPerChunk = rowsPerChunk(rank);
+        chunks = new FloatBuffer[(rank + rowsPerChunk - 1) / rowsPerChunk];
+        for (int k = 0; k < chunks.length; k++) {
+            int rows = Math.min(rowsPerChunk, rank - k * rowsPerChunk);
+            chunks[k] = ByteBuffer.allocateDirect(rows * rank * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        }
+    }
+
+    /**
+     * Создание матрицы над готовыми буферами (без копирования)
+     * @param chunks Участки матрицы по rowsPerChunk строк (последний может быть короче)
+     * @param rank Размерность матрицы
+     * @param rowsPerChunk Количество строк в одном участке
+     */
+    public BufferMatrix(FloatBuffer[] chunks, int rank, int rowsPerChunk) {
+        super(rank);
+        if (rowsPerChunk <= 0 || (long) chunks.length * rowsPerChunk < rank) {
+            throw new IllegalArgumentException("Участки не покрывают матрицу.");
+        }
+        this.chunks = chunks;
+        this.rowsPerChunk = rowsPerChunk;
+    }
+
+    /**
+     * Количество строк в участке, при котором участок не превышает MAX_CHUNK байт
+     * @param rank Размерность матрицы
+     * @return Количество строк
+     */
+    static int rowsPerChunk(int rank) {
+        return (int) Math.max(1, Math.min(rank, MAX_CHUNK / (4L * rank)));
+    }
+
+    /**
+     * Участок, содержащий строку
+     * @param i Номер строки
+     * @return Буфер участка
+     */
+    private FloatBuffer chunk(int i) {
+        return chunks[i / rowsPerChunk];
+    }
+
+    /**
+     * Смещение строки внутри её участка
+     * @param i Номер строки
+     * @return Индекс первого элемента строки в буфере участка
+     */
+    private int offset(int i) {
+        return (i % rowsPerChunk) * rank;
+    }
+
+    @Override
+    public float get(int i, int j) {
+        return chunk(i).get(offset(i) + j);
+    }
+
+    @Override
+    public void set(int i, int j, float value) {
+        chunk(i).put(offset(i) + j, value);
+    }
+
+    @Override
+    public void getRow(int i, float[] target, int offset) {
+        chunk(i).get(offset(i), target, offset, rank);
+    }
+
+    @Override
+    public void setRow(int i, float[] row) {
+        chunk(i).put(offset(i), row, 0, rank);
+    }
+
+    @Override
+    public FloatBuffer row(int i) {
+        return chunk(i).slice(offset(i), rank);
+    }
+
+    @Override
+    public float dot(int i, float[] x, int from, int to) {
+        FloatBuffer a = chunk(i);
+        int offset = offset(i);
+        float sum = 0;
+        for (int j = from; j < to; j++) {
+            sum += a.get(offset + j) * x[j];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,194 @@
+package com.codebind;
+
+/**
+ * Решатель, использующий кэш SolverCache: повторная система целиком возвращается из кэша
+ * за время вычисления отпечатка (O(n²) для плотной матрицы), система с той же матрицей и новым
+ * вектором свободных членов решается сохранённым решателем по готовому разложению.
+ * При промахе решатель создаётся по имени метода (как в пакетном режиме) над копией матрицы
+ * и после успешного решения помещается в кэш.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class CachingSolver extends AbstractSolver {
+
+    /**
+     * Кэш решателей и решений
+     */
+    private final SolverCache cache;
+
+    /**
+     * Имя метода решения (см. BatchMain.createSolver)
+     */
+    private final String method;
+
+    /**
+     * Решатель, выполнивший последнее решение
+     */
+    private AbstractSolver solver;
+
+    /**
+     * Решатель, выполняющийся в данный момент (для передачи ему отмены из другого потока)
+     */
+    private volatile AbstractSolver active;
+
+    /**
+     * Результат последнего поиска в кэше
+     */
+    private SolverCache.Lookup lookup;
+
+    /**
+     * Конструктор класса
+     * @param cache Кэш решателей и решений
+     * @param method Имя метода решения (auto, gauss, cholesky, ...)
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public CachingSolver(SolverCache cache, String method, float[][] coeff, float[] freeCoeff) {
+        super(coeff, freeCoeff);
+        this.cache = cache;
+        this.method = method;
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param cache Кэш решателей и решений
+     * @param method Имя метода решения (auto, gauss, cholesky, ...)
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public CachingSolver(SolverCache cache, String method, DenseMatrix matrix, float[] freeCoeff) {
+        super(matrix, freeCoeff);
+        this.cache = cache;
+        this.method = method;
+    }
+
+    /**
+     * Конструктор класса для разреженной матрицы коэффициентов
+     * @param cache Кэш решателей и решений
+     * @param method Имя метода решения (auto, gauss, cholesky, ...)
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public CachingSolver(SolverCache cache, String method, SparseMatrix sparse, float[] freeCoeff) {
+        super(sparse, freeCoeff);
+        this.cache = cache;
+        this.method = method;
+    }
+
+    /**
+     * Поиск решения СЛАУ в кэше или выбранным методом с сохранением результата в кэше
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если решение не найдено
+     * @throws IllegalArgumentException если метод неизвестен
+     */
+    @Override
+    public float[] solve() {
+        phase(SolverStatistics.SETUP);
+        float[] b = freeCoeff;
+        long matrixFingerprint = SolverCache.fingerprint(this);
+        long fingerprint = SolverCache.fingerprint(b);
+        SolverCache.Entry entry = cache.find(method, matrixFingerprint, this);
+        if (entry != null) {
+            float[] cached = entry.getSolution(fingerprint, b);
+            if (cached != null) {
+                lookup = SolverCache.Lookup.SOLUTION;
+                cache.record(lookup);
+                solver = entry.solver;
+                return cached;
+            }
+            lookup = SolverCache.Lookup.FACTORIZATION;
+            cache.record(lookup);
+            phase(SolverStatistics.SOLVE);
+            float[] result;
+            //Сохранённый решатель не рассчитан на одновременное использование из нескольких потоков
+            synchronized (entry) {
+                result = run(entry.solver, b);
+            }
+            if (result != null) {
+                entry.putSolution(fingerprint, b, result);
+            } else if (entry.solver.isCancelled()) {
+                //Отмена необратима: отменённый решатель не может оставаться в кэше
+                cache.remove(entry);
+            }
+            return result;
+        }
+        lookup = SolverCache.Lookup.MISS;
+        cache.record(lookup);
+        LinearSystem copy = SolverCache.copy(this, b);
+        AbstractSolver created = BatchMain.createSolver(method, copy);
+        phase(SolverStatistics.SOLVE);
+        float[] result = run(created, b);
+        if (result != null && !created.isCancelled()) {
+            entry = new SolverCache.Entry(new SolverCache.Key(method, matrixFingerprint), copy, created);
+            entry.putSolution(fingerprint, b, result);
+            cache.put(entry);
+        }
+        return result;
+    }
+
+    /**
+     * Решение выбранным решателем с передачей ему отмены
+     * @param target Решатель
+     * @param b Вектор свободных членов
+     * @return Решение или null
+     */
+    private float[] run(AbstractSolver target, float[] b) {
+        solver = target;
+        active = target;
+        try {
+            //Проверка после публикации active: отмена, запрошенная позже, дойдёт до решателя через cancel()
+            if (isCancelled()) {
+                return null;
+            }
+            return isMeasured() ? target.measure(b, false).getSolution() : target.solve(b);
+        } finally {
+            active = null;
+        }
+    }
+
+    /**
+     * Получение результата последнего поиска в кэше
+     * @return SOLUTION, FACTORIZATION, MISS или null, если решение не выполнялось
+     */
+    public SolverCache.Lookup getLookup() {
+        return lookup;
+    }
+
+    /**
+     * Получение решателя, выполнившего (или сохранившего в кэше) последнее решение
+     * @return Решатель или null, если решение не выполнялось
+     */
+    public AbstractSolver getSolver() {
+        return solver;
+    }
+
+    /**
+     * Итерации и причина окончания решателя, выполнившего решение (для решения из кэша - без итераций)
+     * @param statistics Статистика завершившегося решения
+     */
+    @Override
+    protected void collect(SolverStatistics statistics) {
+        if (solver == null) {
+            return;
+        }
+        SolverStatistics solverStatistics = lookup == SolverCache.Lookup.SOLUTION ? null : solver.getStatistics();
+        String name = solverStatistics != null ? solverStatistics.getMethod() : solver.getClass().getSimpleName();
+        statistics.selected = lookup == SolverCache.Lookup.MISS ? name : name + " (" + lookup + ")";
+        if (solverStatistics != null) {
+            statistics.iterations = solverStatistics.getIterations();
+            statistics.status = solverStatistics.getStatus();
+            statistics.trace = solverStatistics.getTrace();
+        }
+    }
+
+    /**
+     * Запрос на отмену решения, в том числе выполняющегося в данный момент решателя
+     */
+    @Override
+    public void cancel() {
+        super.cancel();
+        AbstractSolver target = active;
+        if (target != null) {
+            target.cancel();
+        }
+    }
+}
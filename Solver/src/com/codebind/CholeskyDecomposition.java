@@ -0,0 +1,191 @@
+package com.codebind;
+
+import java.util.Arrays;
+
+/**
+ * Разложение Холецкого симметричной положительно определённой матрицы (A = L·Lᵀ).
+ * Хранится только нижний треугольник: строка i содержит i + 1 элементов, что вдвое меньше LU-разложения;
+ * разложение требует около n³/6 умножений - вдвое меньше, чем LU.
+ * Несимметричная матрица или неположительный ведущий элемент обнаруживаются до окончания разложения.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class CholeskyDecomposition {
+
+    /**
+     * Нижнетреугольный множитель L по строкам: l[i][j] для j <= i
+     */
+    private final float[][] l;
+
+    /**
+     * Признак положительной определённости (false - матрица несимметрична или не положительно определена)
+     */
+    private boolean positiveDefinite;
+
+    /**
+     * Решатель, отмена которого прерывает разложение (может быть null)
+     */
+    private final AbstractSolver owner;
+
+    /**
+     * Признак прерванного разложения
+     */
+    private boolean cancelled;
+
+    /**
+     * Конструктор класса. Исходная матрица не изменяется.
+     * @param matrix Квадратная матрица
+     */
+    public CholeskyDecomposition(float[][] matrix) {
+        this.owner = null;
+        int n = matrix.length;
+        l = new float[n][];
+        boolean symmetric = true;
+        for (int i = 0; i < n; i++) {
+            l[i] = Arrays.copyOf(matrix[i], i + 1);
+            for (int j = 0; j < i && symmetric; j++) {
+                symmetric = matrix[j][i] == l[i][j];
+            }
+        }
+        positiveDefinite = symmetric && factor();
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов решателя (в любом представлении)
+     * с проверкой отмены решения на каждом шаге разложения
+     * @param owner Решатель, матрица которого раскладывается (не изменяется)
+     */
+    CholeskyDecomposition(AbstractSolver owner) {
+        this.owner = owner;
+        int n = owner.getRank();
+        l = new float[n][];
+        float[] row = new float[n];
+        for (int i = 0; i < n; i++) {
+            owner.copyRow(i, row, 0);
+            l[i] = Arrays.copyOf(row, i + 1);
+        }
+        //Второй проход: элементы над диагональю сверяются с уже скопированным нижним треугольником
+        boolean symmetric = true;
+        for (int i = 0; i < n && symmetric; i++) {
+            owner.copyRow(i, row, 0);
+            for (int j = i + 1; j < n && symmetric; j++) {
+                symmetric = row[j] == l[j][i];
+            }
+        }
+        positiveDefinite = symmetric && factor();
+    }
+
+    /**
+     * Разложение по строкам: l_ij = (a_ij - Σ l_ik·l_jk) / l_jj, l_ii = √(a_ii - Σ l_ik²).
+     * Суммы - скалярные произведения непрерывных начальных участков строк i и j.
+     * @return false, если матрица не положительно определена или разложение прервано
+     */
+    private boolean factor() {
+        int n = l.length;
+        Kernels kernels = Kernels.INSTANCE;
+        for (int i = 0; i < n; i++) {
+            if (owner != null && owner.isCancelled()) {
+                cancelled = true;
+                return false;
+            }
+            float[] rowI = l[i];
+            for (int j = 0; j < i; j++) {
+                float[] rowJ = l[j];
+                rowI[j] = (rowI[j] - kernels.dot(rowI, 0, rowJ, 0, j)) / rowJ[j];
+            }
+            float diagonal = rowI[i] - kernels.dot(rowI, 0, rowI, 0, i);
+            if (!(diagonal > 0)) {
+                return false;
+            }
+            rowI[i] = (float) Math.sqrt(diagonal);
+        }
+        return true;
+    }
+
+    /**
+     * Получение размерности разложенной матрицы
+     * @return Количество строк (столбцов) матрицы
+     */
+    public int getRank() {
+        return l.length;
+    }
+
+    /**
+     * Проверка успешности разложения
+     * @return true, если матрица симметрична и положительно определена
+     */
+    public boolean isPositiveDefinite() {
+        return positiveDefinite;
+    }
+
+    /**
+     * Проверка, прервано ли разложение отменой решения
+     * @return true, если разложение не завершено
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Вычисление определителя det A = (Π l_ii)²
+     * @return Значение определителя (NaN, если матрица не положительно определена)
+     */
+    public float determinant() {
+        if (!positiveDefinite) {
+            return Float.NaN;
+        }
+        double product = 1;
+        for (int i = 0; i < l.length; i++) {
+            product *= l[i][i];
+        }
+        return (float) (product * product);
+    }
+
+    /**
+     * Решение системы A·x = b прямой (L·y = b) и обратной (Lᵀ·x = y) подстановкой за O(n²)
+     * @param b Вектор свободных членов
+     * @return Решение системы или null, если матрица не положительно определена
+     */
+    public float[] solve(float[] b) {
+        if (!positiveDefinite) {
+            return null;
+        }
+        return solve(new float[][]{b})[0];
+    }
+
+    /**
+     * Пакетное решение систем A·x_k = b_k для набора векторов свободных членов
+     * @param b Массив векторов свободных членов (b[k] - k-я правая часть)
+     * @return Массив решений (x[k] - решение для b[k]) или null, если матрица не положительно определена
+     */
+    public float[][] solve(float[][] b) {
+        if (!positiveDefinite) {
+            return null;
+        }
+        int n = l.length;
+        int m = b.length;
+        float[][] x = new float[m][];
+        Kernels kernels = Kernels.INSTANCE;
+        for (int k = 0; k < m; k++) {
+            x[k] = b[k].clone();
+        }
+        for (int i = 0; i < n; i++) {
+            float[] row = l[i];
+            for (int k = 0; k < m; k++) {
+                float[] xk = x[k];
+                xk[i] = (xk[i] - kernels.dot(row, 0, xk, 0, i)) / row[i];
+            }
+        }
+        //Обратный ход по столбцам Lᵀ, то есть по строкам L: после нахождения x_i он вычитается из предыдущих уравнений
+        for (int i = n - 1; i >= 0; i--) {
+            float[] row = l[i];
+            for (int k = 0; k < m; k++) {
+                float[] xk = x[k];
+                float xi = xk[i] / row[i];
+                xk[i] = xi;
+                kernels.axpy(-xi, row, 0, xk, 0, i);
+            }
+        }
+        return x;
+    }
+}
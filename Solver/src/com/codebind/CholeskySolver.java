@@ -0,0 +1,110 @@
+package com.codebind;
+
+/**
+ * Реализация решения СЛАУ с симметричной положительно определённой матрицей методом Холецкого (A = L·Lᵀ).
+ * Разложение выполняется один раз и используется для всех последующих векторов свободных членов.
+ * Если матрица несимметрична или не положительно определена, решение выполняется методом Гаусса
+ * (LU-разложение), если это не запрещено полем fallback.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class CholeskySolver extends AbstractSolver {
+
+    /**
+     * Разрешение решать методом Гаусса матрицы, не допускающие разложения Холецкого
+     * (false - solve() возвращает null, например, чтобы AutoSolver перешёл к следующему методу)
+     */
+    public boolean fallback = true;
+
+    /**
+     * Разложение Холецкого матрицы коэффициентов (кэш для повторных решений)
+     */
+    private CholeskyDecomposition decomposition;
+
+    /**
+     * Матрица коэффициентов, для которой получено разложение
+     */
+    private float[][] decompositionSource;
+
+    /**
+     * Метод Гаусса для матриц, не допускающих разложения Холецкого
+     */
+    private volatile GaussSolver gauss;
+
+    /**
+     * Конструктор класса
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public CholeskySolver(float[][] coeff, float[] freeCoeff) {
+        super(coeff, freeCoeff);
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public CholeskySolver(DenseMatrix matrix, float[] freeCoeff) {
+        super(matrix, freeCoeff);
+    }
+
+    /**
+     * Получение разложения Холецкого матрицы коэффициентов.
+     * Разложение выполняется один раз и пересчитывается только при замене матрицы коэффициентов.
+     * @return Разложение (isPositiveDefinite() - false, если матрица его не допускает)
+     */
+    public CholeskyDecomposition decompose() {
+        if (decomposition == null || decompositionSource != coeff) {
+            decomposition = new CholeskyDecomposition(this);
+            decompositionSource = coeff;
+        }
+        return decomposition;
+    }
+
+    /**
+     * Проверка, решалась ли система методом Гаусса вместо метода Холецкого
+     * @return true, если матрица не допускает разложения Холецкого
+     */
+    public boolean isFallback() {
+        return gauss != null;
+    }
+
+    /**
+     * Поиск решения СЛАУ по разложению Холецкого за O(n²) (разложение - O(n³/6) при первом вызове)
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если решение не найдено
+     */
+    @Override
+    public float[] solve() {
+        phase(SolverStatistics.FACTORIZATION);
+        CholeskyDecomposition cholesky = decompose();
+        if (cholesky.isPositiveDefinite()) {
+            phase(SolverStatistics.SUBSTITUTION);
+            return cholesky.solve(freeCoeff);
+        }
+        if (!fallback || cholesky.isCancelled() || isCancelled()) {
+            return null;
+        }
+        phase(SolverStatistics.SOLVE);
+        if (gauss == null) {
+            gauss = coeff != null ? new GaussSolver(coeff, freeCoeff) : new GaussSolver(matrix, freeCoeff);
+            //Отмена, запрошенная до публикации gauss, не дошла бы до него через cancel()
+            if (isCancelled()) {
+                return null;
+            }
+        }
+        return gauss.solve(freeCoeff);
+    }
+
+    /**
+     * Запрос на отмену решения, в том числе выполняющегося метода Гаусса
+     */
+    @Override
+    public void cancel() {
+        super.cancel();
+        GaussSolver solver = gauss;
+        if (solver != null) {
+            solver.cancel();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.codebind;
+
+/**
+ * Реализация решения СЛАУ с симметричной положительно определённой матрицей
+ * методом сопряжённых градиентов (с предобусловливанием).
+ * Для сходимости требуется O(√κ) итераций, каждая - одно умножение матрицы на вектор.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class ConjugateGradientSolver extends KrylovSolver {
+
+    /**
+     * Конструктор класса
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public ConjugateGradientSolver(float[][] coeff, float[] freeCoeff){
+        super(coeff, freeCoeff);
+    }
+
+    /**
+     * Конструктор класса для разреженной матрицы коэффициентов
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public ConjugateGradientSolver(SparseMatrix sparse, float[] freeCoeff){
+        super(sparse, freeCoeff);
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public ConjugateGradientSolver(DenseMatrix matrix, float[] freeCoeff){
+        super(matrix, freeCoeff);
+    }
+
+    /**
+     * Конструктор класса с предобусловливателем
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     * @param preconditioner Предобусловливатель
+     */
+    public ConjugateGradientSolver(float[][] coeff, float[] freeCoeff, Preconditioner preconditioner){
+        super(coeff, freeCoeff);
+        this.preconditioner = preconditioner;
+    }
+
+    /**
+     * Конструктор класса для разреженной матрицы коэффициентов с предобусловливателем
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     * @param preconditioner Предобусловливатель
+     */
+    public ConjugateGradientSolver(SparseMatrix sparse, float[] freeCoeff, Preconditioner preconditioner){
+        super(sparse, freeCoeff);
+        this.preconditioner = preconditioner;
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище с предобусловливателем
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     * @param preconditioner Предобусловливатель
+     */
+    public ConjugateGradientSolver(DenseMatrix matrix, float[] freeCoeff, Preconditioner preconditioner){
+        super(matrix, freeCoeff);
+        this.preconditioner = preconditioner;
+    }
+
+    /**
+     * Поиск решения СЛАУ.
+     * Итерации завершаются, когда относительная невязка ||b - A·x|| / ||b|| становится меньше eps.
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если за maxIterations итераций решение не найдено
+     */
+    @Override
+    public float[] solve() {
+        phase(SolverStatistics.SETUP);
+        int n = getRank();
+        float[] b = freeCoeff;
+        float[] r = new float[n];
+        float[] z = new float[n];
+        float[] p = new float[n];
+        float[] q = new float[n];
+
+        monitor.start(eps, maxIterations);
+        double bNorm = norm(b);
+        if (bNorm == 0) {
+            monitor.stop(ConvergenceMonitor.Status.CONVERGED);
+            return new float[n];
+        }
+        float[] x = start(r);
+        if (norm(r) < eps * bNorm) { //Начальное приближение уже достаточно точно
+            monitor.stop(ConvergenceMonitor.Status.CONVERGED);
+            return result(x);
+        }
+        setupPreconditioner();
+        precondition(r, z);
+        System.arraycopy(z, 0, p, 0, n);
+        double rz = dot(r, z);
+
+        while (true) {
+            multiply(p, q);
+            double pq = dot(p, q);
+            if (pq == 0) {
+                monitor.stop(ConvergenceMonitor.Status.BREAKDOWN);
+                break;
+            }
+            float alpha = (float) (rz / pq);
+            Kernels.INSTANCE.axpy(alpha, p, 0, x, 0, n);
+            Kernels.INSTANCE.axpy(-alpha, q, 0, r, 0, n);
+            if (!monitor.nextResidual(norm(r) / bNorm)) {
+                break;
+            }
+            precondition(r, z);
+            double rzNext = dot(r, z);
+            float beta = (float) (rzNext / rz);
+            rz = rzNext;
+            for (int i = 0; i < n; i++) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+        return result(x);
+    }
+}
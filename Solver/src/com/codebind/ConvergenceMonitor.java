@@ -0,0 +1,324 @@
+package com.codebind;
+
+import java.util.Arrays;
+
+/**
+ * Контроль сходимости итерационного метода.
+ * Решатель передаёт норму поправки (вычисленную в том же проходе, что и шаг метода)
+ * или относительную невязку; монитор проверяет условие окончания раз в checkInterval итераций,
+ * а на каждой итерации - отмену решения, появление NaN/Inf, расходимость и застой.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class ConvergenceMonitor {
+
+    /**
+     * Условие окончания итераций
+     */
+    public enum Criterion {
+        /**
+         * Норма поправки меньше eps
+         */
+        ABSOLUTE,
+        /**
+         * Норма поправки, отнесённая к норме решения, меньше eps
+         */
+        RELATIVE,
+        /**
+         * Относительная невязка ||b - A·x|| / ||b|| меньше eps
+         */
+        RESIDUAL
+    }
+
+    /**
+     * Причина окончания итераций
+     */
+    public enum Status {
+        /**
+         * Итерации продолжаются
+         */
+        RUNNING,
+        /**
+         * Достигнута требуемая точность
+         */
+        CONVERGED,
+        /**
+         * Исчерпано максимальное количество итераций
+         */
+        MAX_ITERATIONS,
+        /**
+         * Поправка выросла более чем в divergenceFactor раз относительно наименьшей
+         */
+        DIVERGED,
+        /**
+         * В поправке или невязке появилось NaN или бесконечность
+         */
+        NOT_A_NUMBER,
+        /**
+         * Норма поправки не уменьшалась stagnationIterations итераций подряд
+         */
+        STAGNATED,
+        /**
+         * Вырождение метода (нулевой знаменатель в формулах метода Крылова)
+         */
+        BREAKDOWN,
+        /**
+         * Решение отменено вызовом AbstractSolver.cancel()
+         */
+        CANCELLED
+    }
+
+    /**
+     * Условие окончания итераций
+     */
+    public Criterion criterion;
+
+    /**
+     * Проверка условия окончания выполняется раз в checkInterval итераций
+     */
+    public int checkInterval;
+
+    /**
+     * Во сколько раз поправка должна превысить наименьшую, чтобы метод считался расходящимся
+     */
+    public double divergenceFactor;
+
+    /**
+     * Количество итераций без нового минимума нормы поправки, после которого фиксируется застой
+     * (0 - не проверять)
+     */
+    public int stagnationIterations;
+
+    /**
+     * Сохранение нормы каждой итерации (история доступна через getTrace())
+     */
+    public boolean trace;
+
+    /**
+     * Решатель, для которого вычисляется невязка
+     */
+    private final IterationSolver solver;
+
+    /**
+     * Требуемая точность
+     */
+    private double eps;
+
+    /**
+     * Ограничение на количество итераций
+     */
+    private int maxIterations;
+
+    /**
+     * Количество выполненных итераций
+     */
+    private int iterations;
+
+    /**
+     * Текущее состояние
+     */
+    private Status status;
+
+    /**
+     * Норма на последней итерации
+     */
+    private double norm;
+
+    /**
+     * Наименьшая норма поправки
+     */
+    private double best;
+
+    /**
+     * Итерация, на которой достигнута наименьшая норма поправки
+     */
+    private int bestIteration;
+
+    /**
+     * История нормы по итерациям (заполнены первые iterations элементов)
+     */
+    private double[] history;
+
+    /**
+     * Конструктор класса
+     * @param solver Решатель, для которого при необходимости вычисляется невязка
+     */
+    public ConvergenceMonitor(IterationSolver solver) {
+        this.solver = solver;
+        criterion = Criterion.ABSOLUTE;
+        checkInterval = 1;
+        divergenceFactor = 1e8;
+        stagnationIterations = 1000;
+        status = Status.RUNNING;
+    }
+
+    /**
+     * Подготовка к новому решению
+     * @param eps Требуемая точность
+     * @param maxIterations Ограничение на количество итераций
+     */
+    public void start(double eps, int maxIterations) {
+        this.eps = eps;
+        this.maxIterations = maxIterations;
+        iterations = 0;
+        status = Status.RUNNING;
+        norm = Double.NaN;
+        best = Double.POSITIVE_INFINITY;
+        bestIteration = 0;
+        history = trace ? new double[Math.max(16, Math.min(maxIterations, 1024))] : null;
+    }
+
+    /**
+     * Учёт очередной итерации стационарного метода
+     * @param delta Норма поправки решения на итерации
+     * @param x Текущее приближение
+     * @return true, если итерации нужно продолжать
+     */
+    public boolean next(double delta, float[] x) {
+        if (!track(delta)) {
+            return false;
+        }
+        if (iterations % Math.max(1, checkInterval) == 0) {
+            boolean converged;
+            switch (criterion) {
+                case RELATIVE:
+                    converged = delta <= eps * maxAbs(x);
+                    break;
+                case RESIDUAL:
+                    double residual = solver.iterationResidual(x);
+                    if (Double.isNaN(residual) || Double.isInfinite(residual)) {
+                        return stop(Status.NOT_A_NUMBER);
+                    }
+                    converged = residual < eps;
+                    break;
+                default:
+                    converged = delta <= eps;
+                    break;
+            }
+            if (converged) {
+                return stop(Status.CONVERGED);
+            }
+        }
+        return limit();
+    }
+
+    /**
+     * Учёт очередной итерации метода, отслеживающего невязку (методы Крылова)
+     * @param relativeResidual Относительная невязка ||b - A·x|| / ||b||
+     * @return true, если итерации нужно продолжать
+     */
+    public boolean nextResidual(double relativeResidual) {
+        if (!track(relativeResidual)) {
+            return false;
+        }
+        if (relativeResidual < eps) {
+            return stop(Status.CONVERGED);
+        }
+        return limit();
+    }
+
+    /**
+     * Подсчёт итерации и проверка отмены, NaN, расходимости и застоя
+     * @param value Отслеживаемая норма
+     * @return false, если итерации нужно прекратить
+     */
+    private boolean track(double value) {
+        iterations++;
+        norm = value;
+        if (history != null) {
+            if (iterations > history.length) {
+                history = Arrays.copyOf(history, 2 * history.length);
+            }
+            history[iterations - 1] = value;
+        }
+        if (solver.isCancelled()) {
+            return stop(Status.CANCELLED);
+        }
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return stop(Status.NOT_A_NUMBER);
+        }
+        if (value < best) {
+            best = value;
+            bestIteration = iterations;
+        } else if (value > divergenceFactor * best) {
+            return stop(Status.DIVERGED);
+        } else if (stagnationIterations > 0 && iterations - bestIteration >= stagnationIterations) {
+            return stop(Status.STAGNATED);
+        }
+        return true;
+    }
+
+    /**
+     * Проверка ограничения на количество итераций
+     * @return true, если итерации нужно продолжать
+     */
+    private boolean limit() {
+        if (iterations >= maxIterations) {
+            return stop(Status.MAX_ITERATIONS);
+        }
+        return true;
+    }
+
+    /**
+     * Завершение итераций с указанной причиной
+     * @param reason Причина окончания
+     * @return false
+     */
+    boolean stop(Status reason) {
+        status = reason;
+        return false;
+    }
+
+    /**
+     * Максимальная по модулю компонента вектора
+     * @param x Вектор
+     * @return Норма вектора
+     */
+    static double maxAbs(float[] x) {
+        double max = 0;
+        for (float value : x) {
+            max = Math.max(max, Math.abs(value));
+        }
+        return max;
+    }
+
+    /**
+     * Получение количества выполненных итераций
+     * @return Количество итераций
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Получение истории нормы по итерациям последнего решения
+     * @return Значения нормы (поправки или невязки) по итерациям или null, если trace не был включён
+     */
+    public double[] getTrace() {
+        return history == null ? null : Arrays.copyOf(history, iterations);
+    }
+
+    /**
+     * Получение причины окончания итераций
+     * @return Состояние монитора
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Проверка, завершился ли метод аварийно (NaN, расходимость) или был отменён
+     * @return true, если результат метода непригоден
+     */
+    public boolean isFailed() {
+        return status == Status.DIVERGED || status == Status.NOT_A_NUMBER || status == Status.CANCELLED;
+    }
+
+    /**
+     * Получение нормы на последней итерации (поправки или относительной невязки)
+     * @return Значение нормы
+     */
+    public double getNorm() {
+        return norm;
+    }
+}
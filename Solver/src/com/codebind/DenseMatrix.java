@@ -0,0 +1,151 @@
+package com.codebind;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Плотная квадратная матрица в одном непрерывном хранилище по строкам.
+ * В отличие от float[][], строки не являются отдельными объектами: элемент (i, j)
+ * находится по смещению i·n + j, соседние строки лежат в памяти подряд.
+ * Реализации: ArrayMatrix - массив в куче, BufferMatrix - буферы вне кучи (в том числе отображённый файл).
+ * @autor Epishov
+ * @version 1.0
+ */
+public abstract class DenseMatrix {
+
+    /**
+     * Наибольшее количество элементов, размещаемое в одном массиве float
+     */
+    static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * Размерность матрицы
+     */
+    protected final int rank;
+
+    /**
+     * Конструктор класса
+     * @param rank Размерность матрицы
+     */
+    protected DenseMatrix(int rank) {
+        this.rank = rank;
+    }
+
+    /**
+     * Создание нулевой матрицы: в куче, если она помещается в один массив, иначе вне кучи
+     * @param rank Размерность матрицы
+     * @return Нулевая матрица
+     */
+    public static DenseMatrix allocate(int rank) {
+        if ((long) rank * rank <= MAX_ARRAY_LENGTH) {
+            return new ArrayMatrix(rank);
+        }
+        return new BufferMatrix(rank);
+    }
+
+    /**
+     * Копирование матрицы float[][] в непрерывное хранилище
+     * @param matrix Квадратная матрица
+     * @return Копия матрицы
+     */
+    public static DenseMatrix of(float[][] matrix) {
+        int n = matrix.length;
+        DenseMatrix result = allocate(n);
+        for (int i = 0; i < n; i++) {
+            result.setRow(i, matrix[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Получение размерности матрицы
+     * @return Количество строк (столбцов) матрицы
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Получение элемента матрицы
+     * @param i Номер строки
+     * @param j Номер столбца
+     * @return Значение элемента
+     */
+    public abstract float get(int i, int j);
+
+    /**
+     * Изменение элемента матрицы
+     * @param i Номер строки
+     * @param j Номер столбца
+     * @param value Новое значение
+     */
+    public abstract void set(int i, int j, float value);
+
+    /**
+     * Копирование строки в массив
+     * @param i Номер строки
+     * @param target Массив для записи
+     * @param offset Позиция первого элемента строки в массиве
+     */
+    public abstract void getRow(int i, float[] target, int offset);
+
+    /**
+     * Запись строки из массива
+     * @param i Номер строки
+     * @param values Значения строки (n элементов)
+     */
+    public abstract void setRow(int i, float[] values);
+
+    /**
+     * Представление строки без копирования
+     * @param i Номер строки
+     * @return Буфер из n элементов строки, изменения в котором видны в матрице
+     */
+    public abstract FloatBuffer row(int i);
+
+    /**
+     * Копирование столбца в новый массив
+     * @param j Номер столбца
+     * @return Элементы столбца
+     */
+    public float[] column(int j) {
+        float[] result = new float[rank];
+        for (int i = 0; i < rank; i++) {
+            result[i] = get(i, j);
+        }
+        return result;
+    }
+
+    /**
+     * Скалярное произведение части строки на вектор: Σ a_ij·x_j для j из [from, to).
+     * Основная операция итерационных методов; реализации выполняют её без проверок границ каждого элемента.
+     * @param i Номер строки
+     * @param x Вектор
+     * @param from Первый столбец
+     * @param to Столбец, следующий за последним
+     * @return Значение суммы
+     */
+    public abstract float dot(int i, float[] x, int from, int to);
+
+    /**
+     * Умножение матрицы на вектор y = A·x
+     * @param x Умножаемый вектор
+     * @param y Вектор для записи результата
+     */
+    public void multiply(float[] x, float[] y) {
+        for (int i = 0; i < rank; i++) {
+            y[i] = dot(i, x, 0, rank);
+        }
+    }
+
+    /**
+     * Копирование в матрицу float[][] (для алгоритмов, переставляющих строки)
+     * @return Копия матрицы
+     */
+    public float[][] toArray() {
+        float[][] result = new float[rank][rank];
+        for (int i = 0; i < rank; i++) {
+            getRow(i, result[i], 0);
+        }
+        return result;
+    }
+}
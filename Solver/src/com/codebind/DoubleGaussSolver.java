@@ -0,0 +1,80 @@
+package com.codebind;
+
+/**
+ * Реализация решения СЛАУ методом Гаусса в арифметике двойной точности
+ * @autor Epishov
+ * @version 1.0
+ */
+public class DoubleGaussSolver extends AbstractDoubleSolver {
+
+    /**
+     * Конструктор класса
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public DoubleGaussSolver(double[][] coeff, double[] freeCoeff){
+        super(coeff, freeCoeff);
+    }
+
+    /**
+     * Поиск решения СЛАУ.
+     * Исключение с частичным выбором ведущего элемента на месте в плоском буфере расширенной матрицы.
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если матрица вырождена
+     */
+    @Override
+    public double[] solve() {
+        int n = getRank();
+        int width = n + 1;
+        double[] matrix = new double[n * width];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(coeff[i], 0, matrix, i * width, n);
+            matrix[i * width + n] = freeCoeff[i];
+        }
+
+        //Прямой ход (Зануление нижнего левого угла)
+        for (int k = 0; k < n; k++) {
+            int kk = k * width + k;
+            int p = k;
+            double max = Math.abs(matrix[kk]);
+            for (int i = k + 1; i < n; i++) {
+                double value = Math.abs(matrix[i * width + k]);
+                if (value > max) {
+                    max = value;
+                    p = i;
+                }
+            }
+            if (max == 0) {
+                return null;
+            }
+            if (p != k) {
+                int pk = p * width + k;
+                for (int j = 0; j < width - k; j++) {
+                    double t = matrix[kk + j];
+                    matrix[kk + j] = matrix[pk + j];
+                    matrix[pk + j] = t;
+                }
+            }
+            double pivot = matrix[kk];
+            for (int i = k + 1; i < n; i++) {
+                int ik = i * width + k;
+                double K = matrix[ik] / pivot;
+                if (K == 0)
+                    continue;
+                matrix[ik] = 0;
+                for (int j = 1; j < width - k; j++)
+                    matrix[ik + j] -= matrix[kk + j] * K;
+            }
+        }
+
+        //Обратный ход (подстановка по верхнетреугольной матрице)
+        double[] answer = new double[n];
+        for (int k = n - 1; k > -1; k--) {
+            int row = k * width;
+            double sum = matrix[row + n];
+            for (int j = k + 1; j < n; j++)
+                sum -= matrix[row + j] * answer[j];
+            answer[k] = sum / matrix[row + k];
+        }
+        return answer;
+    }
+}
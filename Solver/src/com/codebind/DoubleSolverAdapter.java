@@ -0,0 +1,109 @@
+package com.codebind;
+
+import java.util.function.BiFunction;
+
+/**
+ * Решение СЛАУ одинарной точности решателем двойной точности (AbstractDoubleSolver):
+ * матрица и свободные члены расширяются до double, решение округляется до float.
+ * Делает методы двойной и смешанной точности доступными пакетному режиму, кэшу решений и измерениям.
+ * Решатель двойной точности создаётся один раз и используется для всех последующих векторов свободных членов,
+ * поэтому MixedPrecisionSolver при solve(float[]) повторно использует своё разложение.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class DoubleSolverAdapter extends AbstractSolver {
+
+    /**
+     * Создание решателя двойной точности по матрице и вектору свободных членов
+     */
+    private final BiFunction<double[][], double[], AbstractDoubleSolver> factory;
+
+    /**
+     * Решатель двойной точности (создаётся при первом решении)
+     */
+    private AbstractDoubleSolver solver;
+
+    /**
+     * Матрица коэффициентов, по которой создан решатель
+     */
+    private Object solverSource;
+
+    /**
+     * Конструктор класса
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     * @param factory Создание решателя двойной точности, например MixedPrecisionSolver::new
+     */
+    public DoubleSolverAdapter(float[][] coeff, float[] freeCoeff, BiFunction<double[][], double[], AbstractDoubleSolver> factory) {
+        super(coeff, freeCoeff);
+        this.factory = factory;
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     * @param factory Создание решателя двойной точности, например MixedPrecisionSolver::new
+     */
+    public DoubleSolverAdapter(DenseMatrix matrix, float[] freeCoeff, BiFunction<double[][], double[], AbstractDoubleSolver> factory) {
+        super(matrix, freeCoeff);
+        this.factory = factory;
+    }
+
+    /**
+     * Поиск решения СЛАУ
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если матрица вырождена
+     */
+    @Override
+    public float[] solve() {
+        phase(SolverStatistics.SETUP);
+        int n = getRank();
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++) {
+            b[i] = freeCoeff[i];
+        }
+        Object source = coeff != null ? coeff : matrix;
+        if (solver == null || solverSource != source) {
+            double[][] a = new double[n][n];
+            float[] row = new float[n];
+            for (int i = 0; i < n; i++) {
+                copyRow(i, row, 0);
+                for (int j = 0; j < n; j++) {
+                    a[i][j] = row[j];
+                }
+            }
+            solver = factory.apply(a, b);
+            solverSource = source;
+        }
+        phase(SolverStatistics.SOLVE);
+        double[] x = solver.solve(b);
+        return x == null ? null : AbstractDoubleSolver.toFloat(x);
+    }
+
+    /**
+     * Получение решателя двойной точности, выполнившего последнее решение
+     * @return Решатель или null, если решение не выполнялось
+     */
+    public AbstractDoubleSolver getSolver() {
+        return solver;
+    }
+
+    /**
+     * Итерации уточнения и метод решения для MixedPrecisionSolver
+     * @param statistics Статистика завершившегося решения
+     */
+    @Override
+    protected void collect(SolverStatistics statistics) {
+        if (solver == null) {
+            return;
+        }
+        statistics.selected = solver.getClass().getSimpleName();
+        if (solver instanceof MixedPrecisionSolver) {
+            MixedPrecisionSolver mixed = (MixedPrecisionSolver) solver;
+            statistics.iterations = mixed.getIterations();
+            if (mixed.isFallback()) {
+                statistics.selected += " (DoubleGaussSolver)";
+            }
+        }
+    }
+}
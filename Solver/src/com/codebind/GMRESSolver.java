@@ -0,0 +1,172 @@
+package com.codebind;
+
+import java.util.Arrays;
+
+/**
+ * Реализация решения СЛАУ с несимметричной матрицей обобщённым методом
+ * минимальных невязок с перезапуском GMRES(m) и правым предобусловливанием
+ * @autor Epishov
+ * @version 1.0
+ */
+public class GMRESSolver extends KrylovSolver {
+
+    /**
+     * Размерность подпространства Крылова до перезапуска (m)
+     */
+    public int restart;
+
+    /**
+     * Конструктор класса
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public GMRESSolver(float[][] coeff, float[] freeCoeff){
+        super(coeff, freeCoeff);
+        restart = 30;
+    }
+
+    /**
+     * Конструктор класса для разреженной матрицы коэффициентов
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public GMRESSolver(SparseMatrix sparse, float[] freeCoeff){
+        super(sparse, freeCoeff);
+        restart = 30;
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public GMRESSolver(DenseMatrix matrix, float[] freeCoeff){
+        super(matrix, freeCoeff);
+        restart = 30;
+    }
+
+    /**
+     * Поиск решения СЛАУ.
+     * Каждая итерация - одно умножение матрицы на вектор; итерации завершаются,
+     * когда относительная невязка ||b - A·x|| / ||b|| становится меньше eps.
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если за maxIterations итераций решение не найдено
+     */
+    @Override
+    public float[] solve() {
+        phase(SolverStatistics.SETUP);
+        int n = getRank();
+        int m = Math.max(1, Math.min(restart, n));
+        float[] b = freeCoeff;
+        float[] r = new float[n];
+        float[] w = new float[n];
+        float[] z = new float[n];
+        float[][] v = new float[m + 1][n];
+        double[][] h = new double[m + 1][m];
+        double[] cs = new double[m];
+        double[] sn = new double[m];
+        double[] g = new double[m + 1];
+        double[] y = new double[m];
+
+        monitor.start(eps, maxIterations);
+        double bNorm = norm(b);
+        if (bNorm == 0) {
+            monitor.stop(ConvergenceMonitor.Status.CONVERGED);
+            return new float[n];
+        }
+        //Невязка начального приближения вычисляется в начале первого перезапуска
+        float[] x = warmStart();
+        if (x == null) {
+            x = new float[n];
+        }
+        setupPreconditioner();
+        double previousBeta = Double.POSITIVE_INFINITY;
+        while (true) {
+            //Невязка пересчитывается явно при каждом перезапуске
+            multiply(x, r);
+            for (int i = 0; i < n; i++) {
+                r[i] = b[i] - r[i];
+            }
+            double beta = norm(r);
+            if (beta < eps * bNorm) {
+                monitor.stop(ConvergenceMonitor.Status.CONVERGED);
+                break;
+            }
+            //Перезапуск без уменьшения невязки - предел точности float или застой метода
+            if (!(beta < previousBeta)) {
+                monitor.stop(ConvergenceMonitor.Status.STAGNATED);
+                break;
+            }
+            previousBeta = beta;
+            for (int i = 0; i < n; i++) {
+                v[0][i] = (float) (r[i] / beta);
+            }
+            Arrays.fill(g, 0);
+            g[0] = beta;
+
+            int k = 0;
+            boolean running = true;
+            while (k < m) {
+                precondition(v[k], z);
+                multiply(z, w);
+                //Модифицированный процесс Грама-Шмидта
+                for (int i = 0; i <= k; i++) {
+                    double hik = dot(w, v[i]);
+                    h[i][k] = hik;
+                    Kernels.INSTANCE.axpy((float) -hik, v[i], 0, w, 0, n);
+                }
+                double wNorm = norm(w);
+                h[k + 1][k] = wNorm;
+                if (wNorm != 0) {
+                    for (int j = 0; j < n; j++) {
+                        v[k + 1][j] = (float) (w[j] / wNorm);
+                    }
+                }
+                //Вращения Гивенса переводят матрицу Хессенберга в верхнетреугольную
+                for (int i = 0; i < k; i++) {
+                    double t = cs[i] * h[i][k] + sn[i] * h[i + 1][k];
+                    h[i + 1][k] = -sn[i] * h[i][k] + cs[i] * h[i + 1][k];
+                    h[i][k] = t;
+                }
+                double d = Math.hypot(h[k][k], h[k + 1][k]);
+                cs[k] = d == 0 ? 1 : h[k][k] / d;
+                sn[k] = d == 0 ? 0 : h[k + 1][k] / d;
+                h[k][k] = d;
+                h[k + 1][k] = 0;
+                g[k + 1] = -sn[k] * g[k];
+                g[k] = cs[k] * g[k];
+                k++;
+                //|g[k]| - норма невязки по рекуррентной формуле, без умножения на матрицу
+                running = monitor.nextResidual(Math.abs(g[k]) / bNorm);
+                if (!running || wNorm == 0) {
+                    break;
+                }
+            }
+
+            //Решение треугольной системы H·y = g и обновление x += M⁻¹·(V·y)
+            for (int i = k - 1; i >= 0; i--) {
+                double sum = g[i];
+                for (int j = i + 1; j < k; j++) {
+                    sum -= h[i][j] * y[j];
+                }
+                if (h[i][i] == 0) {
+                    monitor.stop(ConvergenceMonitor.Status.BREAKDOWN);
+                    return null;
+                }
+                y[i] = sum / h[i][i];
+            }
+            Arrays.fill(r, 0);
+            for (int i = 0; i < k; i++) {
+                Kernels.INSTANCE.axpy((float) y[i], v[i], 0, r, 0, n);
+            }
+            precondition(r, z);
+            for (int j = 0; j < n; j++) {
+                x[j] += z[j];
+            }
+            //Сходимость по рекуррентной невязке подтверждается явной невязкой в начале следующего перезапуска
+            if (!running && monitor.getStatus() != ConvergenceMonitor.Status.CONVERGED) {
+                break;
+            }
+        }
+        return result(x);
+    }
+}
@@ -17,58 +17,152 @@ public class GaussSolver extends AbstractSolver {
     }
 
     /**
-     * Поиск решения СЛАУ
-     * @return Вектор со значениями найденных неизвестных - решение СЛАУ
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public GaussSolver(DenseMatrix matrix, float[] freeCoeff){
+        super(matrix, freeCoeff);
+    }
+
+    /**
+     * LU-разложение матрицы коэффициентов (кэш для повторных решений)
+     */
+    private LUDecomposition decomposition;
+
+    /**
+     * Матрица коэффициентов, для которой получено разложение
+     */
+    private float[][] decompositionSource;
+
+    /**
+     * Получение LU-разложения матрицы коэффициентов для решения серии систем
+     * с одной матрицей и разными векторами свободных членов.
+     * Разложение выполняется один раз и пересчитывается только при замене матрицы коэффициентов.
+     * @return LU-разложение матрицы коэффициентов
+     */
+    public LUDecomposition decompose() {
+        if (decomposition == null || decompositionSource != coeff) {
+            decomposition = factorize();
+            decompositionSource = coeff;
+        }
+        return decomposition;
+    }
+
+    /**
+     * Выполнение LU-разложения матрицы коэффициентов
+     * @return Новое LU-разложение
+     */
+    protected LUDecomposition factorize() {
+        return new LUDecomposition(this);
+    }
+
+    /**
+     * Поиск решения СЛАУ с новым вектором свободных членов по сохранённому разложению за O(n²)
+     * @param freeCoeff Вектор свободных членов
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если матрица вырождена
+     */
+    @Override
+    public float[] solve(float[] freeCoeff) {
+        this.freeCoeff = freeCoeff;
+        phase(SolverStatistics.FACTORIZATION);
+        LUDecomposition lu = decompose();
+        phase(SolverStatistics.SUBSTITUTION);
+        return lu.solve(freeCoeff);
+    }
+
+    /**
+     * Поиск решения СЛАУ.
+     * Исключение выполняется на месте в одном плоском буфере расширенной матрицы (построчно),
+     * с частичным выбором ведущего элемента; на шаге k обновляются только столбцы j > k строк ниже k.
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если матрица вырождена
      */
     @Override
     public float[] solve() {
+        phase(SolverStatistics.SETUP);
         int n = getRank();
-        float[][] matrix = new float[n][n + 1];
+        int width = n + 1;
+        float[] matrix = new float[n * width];
         for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                matrix[i][j] = coeff[i][j];
-            }
-            matrix[i][n] = freeCoeff[i];
+            copyRow(i, matrix, i * width);
+            matrix[i * width + n] = freeCoeff[i];
         }
-        float[][] Matrix_Clone = new float[n][n + 1];
-        for (int i = 0; i < n; i++)
-            for (int j = 0; j < n + 1; j++)
-                Matrix_Clone[i][j] = matrix[i][j];
+        phase(SolverStatistics.FACTORIZATION);
 
         //Прямой ход (Зануление нижнего левого угла)
         for (int k = 0; k < n; k++) //k-номер строки
         {
-            for (int i = 0; i < n + 1; i++) //i-номер столбца
-                Matrix_Clone[k][i] = Matrix_Clone[k][i] / matrix[k][k]; //Деление k-строки на первый член !=0 для преобразования его в единицу
-            for (int i = k + 1; i < n; i++) //i-номер следующей строки после k
-            {
-                float K = Matrix_Clone[i][k] / Matrix_Clone[k][k]; //Коэффициент
-                for (int j = 0; j < n + 1; j++) //j-номер столбца следующей строки после k
-                    Matrix_Clone[i][j] = Matrix_Clone[i][j] - Matrix_Clone[k][j] * K; //Зануление элементов матрицы ниже первого члена, преобразованного в единицу
+            if (isCancelled()) {
+                return null;
+            }
+            int kk = k * width + k;
+            int p = k;
+            float max = Math.abs(matrix[kk]);
+            for (int i = k + 1; i < n; i++) { //Поиск ведущего элемента в столбце k
+                float value = Math.abs(matrix[i * width + k]);
+                if (value > max) {
+                    max = value;
+                    p = i;
+                }
             }
-            for (int i = 0; i < n; i++) //Обновление, внесение изменений в начальную матрицу
-                for (int j = 0; j < n + 1; j++)
-                    matrix[i][j] = Matrix_Clone[i][j];
+            if (max == 0) {
+                return null;
+            }
+            if (p != k) { //Перестановка хвостов строк k и p (левее k - нули)
+                int pk = p * width + k;
+                for (int j = 0; j < width - k; j++) {
+                    float t = matrix[kk + j];
+                    matrix[kk + j] = matrix[pk + j];
+                    matrix[pk + j] = t;
+                }
+            }
+            eliminate(matrix, n, k);
         }
 
-        //Обратный ход (Зануление верхнего правого угла)
+        //Обратный ход (подстановка по верхнетреугольной матрице)
+        phase(SolverStatistics.SUBSTITUTION);
+        float[] Answer = new float[n];
         for (int k = n - 1; k > -1; k--) //k-номер строки
         {
-            for (int i = n; i > -1; i--) //i-номер столбца
-                Matrix_Clone[k][i] = Matrix_Clone[k][i] / matrix[k][k];
-            for (int i = k - 1; i > -1; i--) //i-номер следующей строки после k
-            {
-                float K = Matrix_Clone[i][k] / Matrix_Clone[k][k];
-                for (int j = n; j > -1; j--) //j-номер столбца следующей строки после k
-                    Matrix_Clone[i][j] = Matrix_Clone[i][j] - Matrix_Clone[k][j] * K;
-            }
+            int row = k * width;
+            float sum = matrix[row + n] - Kernels.INSTANCE.dot(matrix, row + k + 1, Answer, k + 1, n - k - 1);
+            Answer[k] = sum / matrix[row + k];
         }
 
-        //Отделяем от общей матрицы ответы
-        float[] Answer = new float[n];
-        for (int i = 0; i < n; i++)
-            Answer[i] = Matrix_Clone[i][n];
-
         return Answer;
     }
+
+    /**
+     * Шаг прямого хода: зануление столбца k во всех строках ниже ведущей
+     * @param matrix Расширенная матрица в плоском построчном буфере
+     * @param n Количество неизвестных
+     * @param k Номер ведущей строки
+     */
+    protected void eliminate(float[] matrix, int n, int k) {
+        eliminateRows(matrix, n, k, k + 1, n);
+    }
+
+    /**
+     * Зануление столбца k в строках [from, to) вычитанием ведущей строки k
+     * @param matrix Расширенная матрица в плоском построчном буфере
+     * @param n Количество неизвестных
+     * @param k Номер ведущей строки
+     * @param from Первая обрабатываемая строка
+     * @param to Строка, следующая за последней обрабатываемой
+     */
+    static void eliminateRows(float[] matrix, int n, int k, int from, int to) {
+        int width = n + 1;
+        int kk = k * width + k;
+        float pivot = matrix[kk];
+        Kernels kernels = Kernels.INSTANCE;
+        for (int i = from; i < to; i++) //i-номер следующей строки после k
+        {
+            int ik = i * width + k;
+            float K = matrix[ik] / pivot; //Коэффициент
+            if (K == 0)
+                continue;
+            matrix[ik] = 0;
+            kernels.axpy(-K, matrix, kk + 1, matrix, ik + 1, width - k - 1); //Только столбцы правее k
+        }
+    }
 }
@@ -0,0 +1,159 @@
+package com.codebind;
+
+import java.util.Arrays;
+
+/**
+ * Предобусловливатель неполного разложения Холецкого IC(0): M = L·Lᵀ,
+ * где L имеет тот же портрет, что и нижний треугольник матрицы A.
+ * При потере положительной определённости диагональ сдвигается (A + α·diag(A)) и разложение повторяется.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class IncompleteCholeskyPreconditioner implements Preconditioner {
+
+    /**
+     * Максимальное количество попыток разложения со сдвигом диагонали
+     */
+    static final int MAX_SHIFTS = 20;
+
+    /**
+     * Начала строк множителя L в массивах columns и values
+     */
+    private int[] rowStart;
+
+    /**
+     * Номера столбцов элементов L (в каждой строке по возрастанию, диагональ последней)
+     */
+    private int[] columns;
+
+    /**
+     * Значения элементов L
+     */
+    private float[] values;
+
+    /**
+     * Подготовка предобусловливателя для матрицы коэффициентов
+     * @param matrix Матрица коэффициентов в разреженном формате (симметричная)
+     */
+    @Override
+    public void setup(SparseMatrix matrix) {
+        int n = matrix.getRank();
+        rowStart = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int count = 0;
+            for (int k = matrix.rowStart[i]; k < matrix.rowStart[i + 1]; k++) {
+                if (matrix.columns[k] < i)
+                    count++;
+            }
+            rowStart[i + 1] = rowStart[i] + count + 1;
+        }
+        columns = new int[rowStart[n]];
+        float[] lower = new float[rowStart[n]];
+        for (int i = 0; i < n; i++) {
+            int start = rowStart[i];
+            int end = rowStart[i + 1] - 1;
+            int k = start;
+            for (int m = matrix.rowStart[i]; m < matrix.rowStart[i + 1]; m++) {
+                int j = matrix.columns[m];
+                if (j < i) {
+                    //Вставка с сохранением порядка столбцов
+                    int pos = k++;
+                    while (pos > start && columns[pos - 1] > j) {
+                        columns[pos] = columns[pos - 1];
+                        lower[pos] = lower[pos - 1];
+                        pos--;
+                    }
+                    columns[pos] = j;
+                    lower[pos] = matrix.values[m];
+                }
+            }
+            columns[end] = i;
+            lower[end] = matrix.getDiagonal(i);
+        }
+
+        float shift = 0;
+        for (int attempt = 0; attempt < MAX_SHIFTS; attempt++) {
+            if (factor(lower, shift)) {
+                return;
+            }
+            shift = shift == 0 ? 0.001f : shift * 2;
+        }
+        //Разложение невозможно (например, на диагонали есть неположительные элементы) -
+        //используется диагональный множитель
+        values = new float[lower.length];
+        for (int i = 0; i < n; i++) {
+            float d = Math.abs(lower[rowStart[i + 1] - 1]);
+            values[rowStart[i + 1] - 1] = d == 0 ? 1 : (float) Math.sqrt(d);
+        }
+    }
+
+    /**
+     * Вычисление множителя L на портрете нижнего треугольника
+     * @param lower Элементы нижнего треугольника A в структуре L
+     * @param shift Относительный сдвиг диагонали
+     * @return false, если встретился неположительный диагональный элемент
+     */
+    private boolean factor(float[] lower, float shift) {
+        int n = rowStart.length - 1;
+        values = Arrays.copyOf(lower, lower.length);
+        for (int i = 0; i < n; i++) {
+            int end = rowStart[i + 1] - 1;
+            values[end] *= 1 + shift;
+            for (int k = rowStart[i]; k <= end; k++) {
+                int j = columns[k];
+                //sum = Σ L[i][m]·L[j][m] по общим столбцам m < j
+                double sum = 0;
+                int a = rowStart[i];
+                int b = rowStart[j];
+                int bEnd = rowStart[j + 1] - 1;
+                while (a < k && b < bEnd) {
+                    int ca = columns[a];
+                    int cb = columns[b];
+                    if (ca == cb) {
+                        sum += (double) values[a++] * values[b++];
+                    } else if (ca < cb) {
+                        a++;
+                    } else {
+                        b++;
+                    }
+                }
+                if (j < i) {
+                    values[k] = (float) ((values[k] - sum) / values[bEnd]);
+                } else {
+                    double d = values[k] - sum;
+                    if (!(d > 0)) {
+                        return false;
+                    }
+                    values[k] = (float) Math.sqrt(d);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Применение предобусловливателя: решение L·y = r и Lᵀ·z = y за O(nnz)
+     * @param r Исходный вектор (не изменяется)
+     * @param z Вектор для записи результата
+     */
+    @Override
+    public void apply(float[] r, float[] z) {
+        int n = rowStart.length - 1;
+        for (int i = 0; i < n; i++) {
+            int end = rowStart[i + 1] - 1;
+            float sum = r[i];
+            for (int k = rowStart[i]; k < end; k++) {
+                sum -= values[k] * z[columns[k]];
+            }
+            z[i] = sum / values[end];
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int end = rowStart[i + 1] - 1;
+            float zi = z[i] / values[end];
+            z[i] = zi;
+            for (int k = rowStart[i]; k < end; k++) {
+                z[columns[k]] -= values[k] * zi;
+            }
+        }
+    }
+}
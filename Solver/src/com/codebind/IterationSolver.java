@@ -17,6 +17,52 @@ public abstract class IterationSolver extends AbstractSolver {
      */
     public float eps;
 
+    /**
+     * Количество рабочих потоков для методов, поддерживающих параллельный шаг (1 - последовательно)
+     */
+    public int parallelism;
+
+    /**
+     * Начинать каждое следующее решение с решения, найденного предыдущим
+     * (для последовательностей близких систем, например шагов по времени)
+     */
+    public boolean reuseSolution;
+
+    /**
+     * Контроль сходимости: условие окончания, обнаружение расходимости, NaN и застоя
+     */
+    public final ConvergenceMonitor monitor;
+
+    /**
+     * Начальное приближение, заданное setInitialGuess (null - приближение по умолчанию метода)
+     */
+    private float[] initialGuess;
+
+    /**
+     * Решение, найденное при последнем решении (запоминается при reuseSolution)
+     */
+    private float[] previousSolution;
+
+    /**
+     * Многоцветный шаг методов Зейделя и релаксации (кэш для multicolorSweep)
+     */
+    private MulticolorSweep multicolorSweep;
+
+    /**
+     * Разреженное представление плотной матрицы коэффициентов (кэш для getSparse)
+     */
+    private SparseMatrix sparseView;
+
+    /**
+     * Плотная матрица, для которой построено разреженное представление
+     */
+    private DenseMatrix sparseSource;
+
+    /**
+     * Рабочий вектор для вычисления невязки
+     */
+    private float[] residualBuffer;
+
     /**
      * Конструктор класса
      * @param coeff Матрица коэффициентов при неизвестных
@@ -26,5 +72,181 @@ public abstract class IterationSolver extends AbstractSolver {
         super(coeff, freeCoeff);
         maxIterations = 1000000;
         eps = 0.000001f;
+        parallelism = 1;
+        monitor = new ConvergenceMonitor(this);
+    }
+
+    /**
+     * Конструктор класса для разреженной матрицы коэффициентов.
+     * Итерация выполняется только по ненулевым элементам, стоимость шага O(nnz).
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public IterationSolver(SparseMatrix sparse, float[] freeCoeff) {
+        super(sparse, freeCoeff);
+        maxIterations = 1000000;
+        eps = 0.000001f;
+        parallelism = 1;
+        monitor = new ConvergenceMonitor(this);
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public IterationSolver(DenseMatrix matrix, float[] freeCoeff) {
+        super(matrix, freeCoeff);
+        maxIterations = 1000000;
+        eps = 0.000001f;
+        parallelism = 1;
+        monitor = new ConvergenceMonitor(this);
+    }
+
+    /**
+     * Задание начального приближения для последующих решений.
+     * При reuseSolution оно используется, пока не найдено первое решение.
+     * @param x Начальное приближение (копируется) или null для приближения по умолчанию метода
+     * @throws IllegalArgumentException если длина вектора не равна количеству неизвестных
+     */
+    public void setInitialGuess(float[] x) {
+        if (x != null && x.length != getRank()) {
+            throw new IllegalArgumentException("Длина начального приближения не соответствует размерности системы.");
+        }
+        initialGuess = x == null ? null : x.clone();
+    }
+
+    /**
+     * Получение начального приближения для очередного решения: решение предыдущего вызова (при reuseSolution)
+     * или заданное setInitialGuess
+     * @return Копия начального приближения или null, если используется приближение по умолчанию метода
+     */
+    protected float[] warmStart() {
+        float[] source = reuseSolution && previousSolution != null ? previousSolution : initialGuess;
+        return source == null ? null : source.clone();
+    }
+
+    /**
+     * Запоминание найденного решения для следующего вызова (при reuseSolution)
+     * @param x Найденное решение или null
+     * @return То же решение
+     */
+    protected float[] remember(float[] x) {
+        if (reuseSolution && x != null) {
+            previousSolution = x.clone();
+        }
+        return x;
+    }
+
+    /**
+     * Результат решения по причине окончания итераций
+     * @param x Найденное приближение
+     * @return Приближение, если достигнута требуемая точность, иначе null
+     */
+    protected float[] result(float[] x) {
+        return remember(monitor.getStatus() == ConvergenceMonitor.Status.CONVERGED ? x : null);
+    }
+
+    /**
+     * Умножение матрицы коэффициентов на вектор y = A·x (O(n²) для плотной, O(nnz) для разреженной)
+     * @param x Умножаемый вектор
+     * @param y Вектор для записи результата
+     */
+    protected void multiply(float[] x, float[] y) {
+        if (sparse != null) {
+            sparse.multiply(x, y);
+            return;
+        }
+        getMatrix().multiply(x, y);
+    }
+
+    /**
+     * Получение матрицы коэффициентов в разреженном формате.
+     * Плотная матрица преобразуется один раз и запоминается.
+     * @return Разреженная матрица коэффициентов
+     */
+    protected SparseMatrix getSparse() {
+        if (sparse != null) {
+            return sparse;
+        }
+        DenseMatrix matrix = getMatrix();
+        if (sparseSource != matrix) {
+            sparseView = SparseMatrix.fromDense(matrix);
+            sparseSource = matrix;
+        }
+        return sparseView;
+    }
+
+    /**
+     * Получение многоцветного шага для текущей матрицы и уровня параллелизма.
+     * Раскраска строится один раз и пересчитывается только при замене матрицы или изменении parallelism.
+     * @return Многоцветный шаг с текущим вектором свободных членов
+     */
+    MulticolorSweep multicolorSweep() {
+        SparseMatrix matrix = getSparse();
+        if (multicolorSweep == null || multicolorSweep.matrix != matrix || multicolorSweep.parallelism != parallelism) {
+            multicolorSweep = new MulticolorSweep(matrix, parallelism);
+        }
+        multicolorSweep.freeCoeff = freeCoeff;
+        return multicolorSweep;
+    }
+
+    /**
+     * Скалярное произведение векторов с накоплением в double
+     * @param x Первый вектор
+     * @param y Второй вектор
+     * @return Скалярное произведение
+     */
+    static double dot(float[] x, float[] y) {
+        return Kernels.INSTANCE.dotDouble(x, y, x.length);
+    }
+
+    /**
+     * Получение количества итераций, выполненных при последнем решении
+     * @return Количество итераций
+     */
+    public int getIterations() {
+        return monitor.getIterations();
+    }
+
+    /**
+     * Получение причины окончания итераций при последнем решении
+     * @return Причина окончания итераций
+     */
+    public ConvergenceMonitor.Status getStatus() {
+        return monitor.getStatus();
+    }
+
+    /**
+     * Итерации, причина окончания и (при monitor.trace) история нормы последнего решения
+     * @param statistics Статистика завершившегося решения
+     */
+    @Override
+    protected void collect(SolverStatistics statistics) {
+        statistics.iterations = monitor.getIterations();
+        statistics.status = monitor.getStatus();
+        statistics.trace = monitor.getTrace();
+    }
+
+    /**
+     * Вычисление относительной невязки ||b - A·x|| / ||b|| (максимум-норма) для условия окончания итераций:
+     * произведение A·x накапливается во float ядрами умножения без выделения памяти на итерации.
+     * Невязка найденного решения в статистике вычисляется relativeResidual с накоплением в double.
+     * @param x Приближённое решение
+     * @return Относительная невязка
+     */
+    double iterationResidual(float[] x) {
+        int n = getRank();
+        if (residualBuffer == null || residualBuffer.length != n) {
+            residualBuffer = new float[n];
+        }
+        multiply(x, residualBuffer);
+        double residual = 0;
+        double scale = 0;
+        for (int i = 0; i < n; i++) {
+            residual = Math.max(residual, Math.abs(freeCoeff[i] - residualBuffer[i]));
+            scale = Math.max(scale, Math.abs(freeCoeff[i]));
+        }
+        return scale == 0 ? residual : residual / scale;
     }
 }
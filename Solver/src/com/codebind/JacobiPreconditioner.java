@@ -0,0 +1,40 @@
+package com.codebind;
+
+/**
+ * Диагональный предобусловливатель (Якоби): M = diag(A)
+ * @autor Epishov
+ * @version 1.0
+ */
+public class JacobiPreconditioner implements Preconditioner {
+
+    /**
+     * Обратные значения диагональных элементов
+     */
+    private float[] inverseDiagonal;
+
+    /**
+     * Подготовка предобусловливателя для матрицы коэффициентов
+     * @param matrix Матрица коэффициентов в разреженном формате
+     */
+    @Override
+    public void setup(SparseMatrix matrix) {
+        int n = matrix.getRank();
+        inverseDiagonal = new float[n];
+        for (int i = 0; i < n; i++) {
+            float d = matrix.getDiagonal(i);
+            inverseDiagonal[i] = d == 0 ? 1 : 1 / d;
+        }
+    }
+
+    /**
+     * Применение предобусловливателя z = M⁻¹·r
+     * @param r Исходный вектор (не изменяется)
+     * @param z Вектор для записи результата
+     */
+    @Override
+    public void apply(float[] r, float[] z) {
+        for (int i = 0; i < r.length; i++) {
+            z[i] = r[i] * inverseDiagonal[i];
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.codebind;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 /**
  * Реализация решения СЛАУ методом Якоби
  * @autor Epishov
@@ -7,6 +10,11 @@ package com.codebind;
  */
 public class JacobiSolver extends IterationSolver {
 
+    /**
+     * Минимальное количество строк в полосе параллельного шага
+     */
+    static final int MIN_STRIPE_ROWS = 64;
+
     /**
      * Конструктор класса
      * @param coeff Матрица коэффициентов при неизвестных
@@ -17,42 +25,131 @@ public class JacobiSolver extends IterationSolver {
     }
 
     /**
-     * Поиск решения СЛАУ
-     * @return Вектор со значениями найденных неизвестных - решение СЛАУ
+     * Конструктор класса для разреженной матрицы коэффициентов
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public JacobiSolver(SparseMatrix sparse, float[] freeCoeff){
+        super(sparse, freeCoeff);
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public JacobiSolver(DenseMatrix matrix, float[] freeCoeff){
+        super(matrix, freeCoeff);
+    }
+
+    /**
+     * Поиск решения СЛАУ.
+     * Новое приближение пишется во второй буфер, после шага буферы меняются ролями без копирования;
+     * норма разности вычисляется в том же проходе.
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если метод расходится
      */
     @Override
     public float[] solve() {
+        phase(SolverStatistics.SETUP);
         int n = getRank();
-        float[] X = new float[n];
-        for (int i = 0; i < n; i++) {
-            X[i] = i;
+        float[] X = warmStart();
+        if (X == null) {
+            X = new float[n];
+            for (int i = 0; i < n; i++) {
+                X[i] = i;
+            }
         }
-        float[][] A = coeff;
-        float[] F = freeCoeff;
-        int iterations = 0;
         float[] TempX = new float[n];
-        float norm = 0;
+        //Плотная матрица получается до запуска потоков: getMatrix() копирует float[][] без синхронизации
+        DenseMatrix dense = sparse == null ? getMatrix() : null;
+        monitor.start(eps, maxIterations);
+        phase(SolverStatistics.ITERATIONS);
+        //Общий пул потоков (SolverPools): запуск потоков не входит во время решения
+        ForkJoinPool pool = SolverPools.get(parallelism);
+        int stripe = Math.max(MIN_STRIPE_ROWS, (n + parallelism * 4 - 1) / (parallelism * 4));
+        float norm;
         do {
-            for (int i = 0; i < n; i++) {
-                TempX[i] = F[i];
-                for (int g = 0; g < n; g++) {
-                    if (i != g)
-                        TempX[i] -= A[i][g] * X[g];
+            if (pool != null) {
+                norm = pool.invoke(new SweepTask(dense, X, TempX, 0, n, stripe));
+            } else {
+                norm = sweepRows(dense, X, TempX, 0, n);
+            }
+            float[] t = X;
+            X = TempX;
+            TempX = t;
+        } while (monitor.next(norm, X));
+        return remember(monitor.isFailed() ? null : X);
+    }
+
+    /**
+     * Вычисление нового приближения для строк [from, to)
+     * @param dense Плотная матрица коэффициентов (null для разреженной)
+     * @param X Приближение на предыдущей итерации
+     * @param TempX Вектор для записи нового приближения
+     * @param from Первая строка
+     * @param to Строка, следующая за последней
+     * @return Максимальное изменение неизвестных на этих строках
+     */
+    float sweepRows(DenseMatrix dense, float[] X, float[] TempX, int from, int to) {
+        int n = X.length;
+        float norm = 0;
+        for (int i = from; i < to; i++) {
+            float sum = freeCoeff[i];
+            float diagonal;
+            if (sparse != null) {
+                SparseMatrix A = sparse;
+                for (int k = A.rowStart[i]; k < A.rowStart[i + 1]; k++) {
+                    int g = A.columns[k];
+                    if (g != i)
+                        sum -= A.values[k] * X[g];
                 }
-                TempX[i] /= A[i][i];
+                diagonal = A.getDiagonal(i);
+            } else {
+                sum -= dense.dot(i, X, 0, i) + dense.dot(i, X, i + 1, n);
+                diagonal = dense.get(i, i);
             }
-            norm = Math.abs(X[0] - TempX[0]);
-            for (int h = 0; h < n; h++) {
-                if (Math.abs(X[h] - TempX[h]) > norm)
-                    norm = Math.abs(X[h] - TempX[h]);
-                X[h] = (float) TempX[h];
+            float value = sum / diagonal;
+            TempX[i] = value;
+            float delta = Math.abs(value - X[i]);
+            if (delta > norm || delta != delta)
+                norm = delta;
+        }
+        return norm;
+    }
+
+    /**
+     * Задача параллельного шага метода Якоби для полосы строк
+     */
+    class SweepTask extends RecursiveTask<Float> {
+        private static final long serialVersionUID = 1L;
+
+        private final DenseMatrix dense;
+        private final float[] X;
+        private final float[] TempX;
+        private final int from;
+        private final int to;
+        private final int stripe;
+
+        SweepTask(DenseMatrix dense, float[] X, float[] TempX, int from, int to, int stripe) {
+            this.dense = dense;
+            this.X = X;
+            this.TempX = TempX;
+            this.from = from;
+            this.to = to;
+            this.stripe = stripe;
+        }
+
+        @Override
+        protected Float compute() {
+            if (to - from <= stripe) {
+                return sweepRows(dense, X, TempX, from, to);
             }
-            iterations++;
-        } while (norm > eps && iterations < maxIterations);
-        if (iterations <= maxIterations) {
-            return X;
-        } else {
-            return null;
+            int middle = (from + to) >>> 1;
+            SweepTask left = new SweepTask(dense, X, TempX, from, middle, stripe);
+            left.fork();
+            float right = new SweepTask(dense, X, TempX, middle, to, stripe).compute();
+            float norm = left.join();
+            return right > norm || right != right ? right : norm;
         }
     }
 }
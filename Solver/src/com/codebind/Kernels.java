@@ -0,0 +1,93 @@
+package com.codebind;
+
+/**
+ * Вычислительные ядра над участками массивов float: скалярное произведение и обновление y += α·x.
+ * На них сведены внутренние циклы плотных методов (исключение строк в методе Гаусса и LU-разложении,
+ * проходы итерационных методов, векторные операции методов Крылова).
+ * Базовая реализация - скалярные циклы без ветвлений; при наличии модуля jdk.incubator.vector
+ * загружается векторная реализация VectorKernels (каталог src-vector), использующая SIMD-инструкции процессора.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class Kernels {
+
+    /**
+     * Имя системного свойства, отключающего векторную реализацию (-Dsolver.kernels=scalar)
+     */
+    public static final String PROPERTY = "solver.kernels";
+
+    /**
+     * Используемая реализация ядер
+     */
+    public static final Kernels INSTANCE = load();
+
+    /**
+     * Выбор реализации: векторная, если её класс доступен и модуль jdk.incubator.vector подключён, иначе скалярная
+     * @return Реализация ядер
+     */
+    static Kernels load() {
+        if (!"scalar".equals(System.getProperty(PROPERTY))) {
+            try {
+                return (Kernels) Class.forName("com.codebind.VectorKernels").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError ex) {
+                //Векторная реализация не собрана или модуль не подключён (--add-modules jdk.incubator.vector)
+            }
+        }
+        return new Kernels();
+    }
+
+    /**
+     * Получение названия реализации
+     * @return Название для вывода пользователю
+     */
+    public String getName() {
+        return "скалярные";
+    }
+
+    /**
+     * Скалярное произведение участков массивов с накоплением во float: Σ a[aOffset + k]·x[xOffset + k]
+     * @param a Первый массив
+     * @param aOffset Начало участка первого массива
+     * @param x Второй массив
+     * @param xOffset Начало участка второго массива
+     * @param length Длина участков
+     * @return Значение суммы
+     */
+    public float dot(float[] a, int aOffset, float[] x, int xOffset, int length) {
+        float sum = 0;
+        for (int k = 0; k < length; k++) {
+            sum += a[aOffset + k] * x[xOffset + k];
+        }
+        return sum;
+    }
+
+    /**
+     * Скалярное произведение векторов с накоплением в double (произведения float в double точны)
+     * @param x Первый вектор
+     * @param y Второй вектор
+     * @param length Количество элементов
+     * @return Значение суммы
+     */
+    public double dotDouble(float[] x, float[] y, int length) {
+        double sum = 0;
+        for (int k = 0; k < length; k++) {
+            sum += (double) x[k] * y[k];
+        }
+        return sum;
+    }
+
+    /**
+     * Обновление участка y += α·x (при α = -K - исключение: вычитание строки, умноженной на коэффициент)
+     * @param alpha Множитель
+     * @param x Прибавляемый массив
+     * @param xOffset Начало участка прибавляемого массива
+     * @param y Изменяемый массив
+     * @param yOffset Начало участка изменяемого массива
+     * @param length Длина участков
+     */
+    public void axpy(float alpha, float[] x, int xOffset, float[] y, int yOffset, int length) {
+        for (int k = 0; k < length; k++) {
+            y[yOffset + k] += alpha * x[xOffset + k];
+        }
+    }
+}
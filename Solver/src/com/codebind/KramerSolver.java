@@ -17,91 +17,75 @@ public class KramerSolver extends AbstractSolver {
     }
 
     /**
-     * Поиск решения СЛАУ
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public KramerSolver(DenseMatrix matrix, float[] freeCoeff){
+        super(matrix, freeCoeff);
+    }
+
+    /**
+     * LU-разложение матрицы коэффициентов, общее для всех определителей метода
+     */
+    private LUDecomposition decomposition;
+
+    /**
+     * Поиск решения СЛАУ.
+     * Матрица раскладывается один раз; отношения det(A_i) / det(A) по лемме об определителе
+     * матрицы с заменённым столбцом равны компонентам решения A·y = b, поэтому
+     * все n определителей получаются одной подстановкой за O(n²) без переполнения float.
      * @return Вектор со значениями найденных неизвестных - решение СЛАУ
      */
     @Override
     public float[] solve() {
-        int n = getRank();
-        float mainDeterminant = determinantOfMatrix(coeff, n);
-        if (mainDeterminant == 0) {
+        LUDecomposition lu = getDecomposition();
+        if (lu.isSingular()) {
             return null;
         }
-        float[] result = new float[n];
-        for (int i = 0; i < n; i++) {
-            var determinant = cramerDeretminant(i);
-            result[i] = determinant / mainDeterminant;
+        return lu.solve(freeCoeff);
+    }
+
+    /**
+     * Получение (с кэшированием) LU-разложения матрицы коэффициентов
+     * @return LU-разложение матрицы коэффициентов
+     */
+    LUDecomposition getDecomposition() {
+        if (decomposition == null) {
+            decomposition = new LUDecomposition(this);
         }
-        return result;
+        return decomposition;
     }
 
     /**
      * Вычисление определителя матрицы коэффициентов,
-     * в которой заданная колонка заменена на столбец свободных коэффициентов
+     * в которой заданная колонка заменена на столбец свободных коэффициентов.
+     * Для невырожденной матрицы det(A_i) = det(A) · y_i, где A·y = b, и новая матрица не строится.
      * @param column Номер колонки для замены на столбец свободных коэффициентов
      * @return Значение определителя
      */
     float cramerDeretminant(int column) {
-        int n = getRank();
-        float[][] mat = new float[n][n];
-        for(int i=0; i<n; i++) {
-            for (int j = 0; j < n; j++) {
-                if (j == column) {
-                    mat[i][j] = freeCoeff[i];
-                } else {
-                    mat[i][j] = coeff[i][j];
-                }
-            }
+        LUDecomposition lu = getDecomposition();
+        if (!lu.isSingular()) {
+            float[] y = lu.solve(freeCoeff);
+            return (float) ((double) lu.determinant() * y[column]);
         }
-        return determinantOfMatrix(mat, n);
-    }
-
-    /**
-     * Функция вычисляет алгебраическое дополнение матрицы
-     * @param mat матрица
-     * @param temp алгебраическое дополнение
-     * @param p количество строк
-     * @param q количество столбцов
-     * @param n текущая размерность матрицы
-     */
-    void cofactor(float mat[][], float temp[][], int p, int q, int n)    {
-        int i = 0, j = 0;
-        for (int row = 0; row < n; row++)
-        {
-            for (int col = 0; col < n; col++)
-            {
-                if (row != p && col != q)
-                {
-                    temp[i][j++] = mat[row][col];
-                    if (j == n - 1)
-                    {
-                        j = 0;
-                        i++;
-                    }
-                }
-            }
+        int n = getRank();
+        float[][] mat = new float[n][];
+        for (int i = 0; i < n; i++) {
+            mat[i] = new float[n];
+            copyRow(i, mat[i], 0);
+            mat[i][column] = freeCoeff[i];
         }
+        return determinantOfMatrix(mat);
     }
 
     /**
-     * Функция рекурсивно вычисляет определитель переданной матрицы
+     * Функция вычисляет определитель переданной матрицы через LU-разложение за O(n³)
      * @param mat матрица
-     * @param n размерность матрицы
      * @return  возвращает определитель переданной матрицы
      */
-    float determinantOfMatrix(float mat[][], int n)
-    {
-        float D = 0;
-        if (n == 1)
-            return mat[0][0];
-        float temp[][] = new float[n][n];
-        int sign = 1;
-        for (int f = 0; f < n; f++)
-        {
-            cofactor(mat, temp, 0, f, n);
-            D += sign * mat[0][f] * determinantOfMatrix(temp, n - 1);
-            sign = -sign;
-        }
-        return D;
+    float determinantOfMatrix(float[][] mat) {
+        return new LUDecomposition(mat).determinant();
     }
 }
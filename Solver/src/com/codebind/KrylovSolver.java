@@ -0,0 +1,94 @@
+package com.codebind;
+
+/**
+ * Базовый абстрактный класс решателя СЛАУ методами подпространств Крылова.
+ * Методам требуется только умножение матрицы на вектор, поэтому они работают
+ * как с плотной, так и с разреженной матрицей коэффициентов.
+ * @autor Epishov
+ * @version 1.0
+ */
+public abstract class KrylovSolver extends IterationSolver {
+
+    /**
+     * Предобусловливатель (null - без предобусловливания)
+     */
+    public Preconditioner preconditioner;
+
+    /**
+     * Конструктор класса
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public KrylovSolver(float[][] coeff, float[] freeCoeff) {
+        super(coeff, freeCoeff);
+    }
+
+    /**
+     * Конструктор класса для разреженной матрицы коэффициентов
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public KrylovSolver(SparseMatrix sparse, float[] freeCoeff) {
+        super(sparse, freeCoeff);
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public KrylovSolver(DenseMatrix matrix, float[] freeCoeff) {
+        super(matrix, freeCoeff);
+    }
+
+    /**
+     * Подготовка предобусловливателя перед началом итераций (конец этапа подготовки)
+     */
+    protected void setupPreconditioner() {
+        if (preconditioner != null) {
+            preconditioner.setup(getSparse());
+        }
+        phase(SolverStatistics.ITERATIONS);
+    }
+
+    /**
+     * Применение предобусловливателя (или копирование вектора, если он не задан)
+     * @param r Исходный вектор
+     * @param z Вектор для записи результата
+     */
+    protected void precondition(float[] r, float[] z) {
+        if (preconditioner != null) {
+            preconditioner.apply(r, z);
+        } else {
+            System.arraycopy(r, 0, z, 0, r.length);
+        }
+    }
+
+    /**
+     * Начальное приближение и начальная невязка r = b - A·x₀
+     * @param r Вектор для записи невязки
+     * @return Начальное приближение: заданное (warmStart) или нулевое - тогда невязка равна b без умножения на матрицу
+     */
+    protected float[] start(float[] r) {
+        float[] b = freeCoeff;
+        float[] x = warmStart();
+        if (x == null) {
+            System.arraycopy(b, 0, r, 0, b.length);
+            return new float[b.length];
+        }
+        multiply(x, r);
+        for (int i = 0; i < b.length; i++) {
+            r[i] = b[i] - r[i];
+        }
+        return x;
+    }
+
+    /**
+     * Евклидова норма вектора
+     * @param x Вектор
+     * @return Норма вектора
+     */
+    static double norm(float[] x) {
+        return Math.sqrt(dot(x, x));
+    }
+}
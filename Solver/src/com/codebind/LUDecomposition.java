@@ -0,0 +1,277 @@
+package com.codebind;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * LU-разложение квадратной матрицы с частичным выбором ведущего элемента (PA = LU)
+ * @autor Epishov
+ * @version 1.0
+ */
+public class LUDecomposition {
+
+    /**
+     * Совмещённые множители: под диагональю - L (с единичной диагональю), на диагонали и выше - U
+     */
+    private final float[][] lu;
+
+    /**
+     * Перестановка строк: pivot[i] - номер строки исходной матрицы, ставшей i-й строкой
+     */
+    private final int[] pivot;
+
+    /**
+     * Знак перестановки строк (+1 или -1)
+     */
+    private int pivotSign;
+
+    /**
+     * Признак вырожденности матрицы (нулевой ведущий элемент)
+     */
+    private boolean singular;
+
+    /**
+     * Решатель, отмена которого прерывает разложение (может быть null)
+     */
+    private final AbstractSolver owner;
+
+    /**
+     * Признак прерванного разложения
+     */
+    private boolean cancelled;
+
+    /**
+     * Пул потоков для параллельного обновления строк ниже ведущей (null - последовательное разложение)
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Конструктор класса. Исходная матрица не изменяется.
+     * @param matrix Квадратная матрица
+     */
+    public LUDecomposition(float[][] matrix) {
+        this.owner = null;
+        this.pool = null;
+        int n = matrix.length;
+        lu = new float[n][];
+        pivot = new int[n];
+        for (int i = 0; i < n; i++) {
+            lu[i] = matrix[i].clone();
+            pivot[i] = i;
+        }
+        pivotSign = 1;
+        factor();
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов решателя (в любом представлении)
+     * с проверкой отмены решения на каждом шаге разложения
+     * @param owner Решатель, матрица которого раскладывается (не изменяется)
+     */
+    LUDecomposition(AbstractSolver owner) {
+        this(owner, null);
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов решателя с параллельным обновлением строк на каждом шаге.
+     * Арифметика по каждой строке совпадает с последовательным разложением, поэтому результаты совпадают.
+     * @param owner Решатель, матрица которого раскладывается (не изменяется)
+     * @param pool Пул потоков (null - последовательное разложение)
+     */
+    LUDecomposition(AbstractSolver owner, ForkJoinPool pool) {
+        this.owner = owner;
+        this.pool = pool;
+        int n = owner.getRank();
+        lu = new float[n][];
+        pivot = new int[n];
+        for (int i = 0; i < n; i++) {
+            lu[i] = new float[n];
+            owner.copyRow(i, lu[i], 0);
+            pivot[i] = i;
+        }
+        pivotSign = 1;
+        factor();
+    }
+
+    /**
+     * Разложение на месте за O(n³): на шаге k меняются местами ссылки на строки
+     * и обновляется только оставшаяся правая нижняя подматрица
+     */
+    private void factor() {
+        int n = lu.length;
+        for (int k = 0; k < n; k++) {
+            if (owner != null && owner.isCancelled()) {
+                cancelled = true;
+                return;
+            }
+            int p = k;
+            float max = Math.abs(lu[k][k]);
+            for (int i = k + 1; i < n; i++) {
+                float value = Math.abs(lu[i][k]);
+                if (value > max) {
+                    max = value;
+                    p = i;
+                }
+            }
+            if (max == 0) {
+                singular = true;
+                continue;
+            }
+            if (p != k) {
+                float[] row = lu[p];
+                lu[p] = lu[k];
+                lu[k] = row;
+                int index = pivot[p];
+                pivot[p] = pivot[k];
+                pivot[k] = index;
+                pivotSign = -pivotSign;
+            }
+            int rowWork = n - k;
+            if (pool == null || (long) (n - k - 1) * rowWork <= ParallelGaussSolver.MIN_TASK_WORK) {
+                eliminateRows(k, k + 1, n);
+            } else {
+                pool.invoke(new EliminationTask(k, k + 1, n, Math.max(1, ParallelGaussSolver.MIN_TASK_WORK / rowWork)));
+            }
+        }
+    }
+
+    /**
+     * Вычисление множителей L и обновление строк [from, to) ведущей строкой k
+     * @param k Номер ведущей строки
+     * @param from Первая обрабатываемая строка
+     * @param to Строка, следующая за последней обрабатываемой
+     */
+    private void eliminateRows(int k, int from, int to) {
+        int n = lu.length;
+        Kernels kernels = Kernels.INSTANCE;
+        float[] rowK = lu[k];
+        float diagonal = rowK[k];
+        for (int i = from; i < to; i++) {
+            float[] rowI = lu[i];
+            float factor = rowI[k] / diagonal;
+            rowI[k] = factor;
+            if (factor == 0) {
+                continue;
+            }
+            kernels.axpy(-factor, rowK, k + 1, rowI, k + 1, n - k - 1);
+        }
+    }
+
+    /**
+     * Задача обновления полосы строк [from, to) на шаге k разложения
+     */
+    class EliminationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int k;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        EliminationTask(int k, int from, int to, int grain) {
+            this.k = k;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                eliminateRows(k, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EliminationTask(k, from, middle, grain), new EliminationTask(k, middle, to, grain));
+        }
+    }
+
+    /**
+     * Получение размерности разложенной матрицы
+     * @return Количество строк (столбцов) матрицы
+     */
+    public int getRank() {
+        return lu.length;
+    }
+
+    /**
+     * Проверка вырожденности матрицы
+     * @return true, если матрица вырождена
+     */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /**
+     * Проверка, прервано ли разложение отменой решения
+     * @return true, если разложение не завершено
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Вычисление определителя как произведения диагонали U с учётом знака перестановки.
+     * Произведение накапливается в double; для больших n результат может выйти за диапазон float.
+     * @return Значение определителя (NaN, если разложение прервано)
+     */
+    public float determinant() {
+        if (cancelled) {
+            return Float.NaN;
+        }
+        if (singular) {
+            return 0;
+        }
+        double det = pivotSign;
+        for (int i = 0; i < lu.length; i++) {
+            det *= lu[i][i];
+        }
+        return (float) det;
+    }
+
+    /**
+     * Решение системы A·x = b прямой и обратной подстановкой за O(n²)
+     * @param b Вектор свободных членов
+     * @return Решение системы или null, если матрица вырождена или разложение прервано
+     */
+    public float[] solve(float[] b) {
+        if (singular || cancelled) {
+            return null;
+        }
+        float[][] x = solve(new float[][]{b});
+        return x[0];
+    }
+
+    /**
+     * Пакетное решение систем A·x_k = b_k для набора векторов свободных членов.
+     * Каждая строка разложения читается один раз на все правые части, стоимость O(n²) на вектор.
+     * @param b Массив векторов свободных членов (b[k] - k-я правая часть)
+     * @return Массив решений (x[k] - решение для b[k]) или null, если матрица вырождена или разложение прервано
+     */
+    public float[][] solve(float[][] b) {
+        if (singular || cancelled) {
+            return null;
+        }
+        int n = lu.length;
+        int m = b.length;
+        float[][] x = new float[m][n];
+        Kernels kernels = Kernels.INSTANCE;
+        for (int i = 0; i < n; i++) {
+            float[] row = lu[i];
+            int source = pivot[i];
+            for (int k = 0; k < m; k++) {
+                float[] xk = x[k];
+                xk[i] = b[k][source] - kernels.dot(row, 0, xk, 0, i);
+            }
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            float[] row = lu[i];
+            float diagonal = row[i];
+            for (int k = 0; k < m; k++) {
+                float[] xk = x[k];
+                xk[i] = (xk[i] - kernels.dot(row, i + 1, xk, i + 1, n - i - 1)) / diagonal;
+            }
+        }
+        return x;
+    }
+}
@@ -0,0 +1,54 @@
+package com.codebind;
+
+/**
+ * Система линейных алгебраических уравнений A·x = b
+ * @autor Epishov
+ * @version 1.0
+ */
+public class LinearSystem {
+
+    /**
+     * Плотная матрица коэффициентов при неизвестных (null, если матрица разреженная)
+     */
+    public final DenseMatrix matrix;
+
+    /**
+     * Разреженная матрица коэффициентов (null, если матрица плотная)
+     */
+    public final SparseMatrix sparse;
+
+    /**
+     * Вектор свободных членов
+     */
+    public final float[] freeCoeff;
+
+    /**
+     * Конструктор класса
+     * @param matrix Плотная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public LinearSystem(DenseMatrix matrix, float[] freeCoeff) {
+        this.matrix = matrix;
+        this.sparse = null;
+        this.freeCoeff = freeCoeff;
+    }
+
+    /**
+     * Конструктор класса для разреженной матрицы коэффициентов
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public LinearSystem(SparseMatrix sparse, float[] freeCoeff) {
+        this.matrix = null;
+        this.sparse = sparse;
+        this.freeCoeff = freeCoeff;
+    }
+
+    /**
+     * Получение количества неизвестных
+     * @return Размерность системы
+     */
+    public int getRank() {
+        return freeCoeff.length;
+    }
+}
@@ -7,7 +7,14 @@ import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableModel;
 import java.awt.*;
 import java.awt.event.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Класс главного окна приложения
@@ -16,19 +23,60 @@ import java.util.Locale;
  */
 public class Main extends JDialog {
 
+    /**
+     * Наибольшая размерность системы, для которой результат автоматически выбранного метода
+     * сравнивается с решениями всеми остальными методами
+     */
+    static final int COMPARISON_MAX_RANK = 10;
+
+    /**
+     * Ограничение времени работы одного решателя, с
+     */
+    static final int SOLVER_TIMEOUT_SECONDS = 60;
+
+    /**
+     * Объём кэша решателей и решений, байт
+     */
+    static final long CACHE_BYTES = 64L << 20;
+
     JSpinner txbVariableCount;
     JButton btnSolve;
+    JButton btnCancel;
     JTextArea txbResult;
     JTable tblCoefficients;
     JTable tblFreeCoefficients;
     JPanel contentPanel;
 
+    /**
+     * Пул потоков, в котором выполняются решатели
+     */
+    final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Планировщик отмены решателей по истечении времени
+     */
+    final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    /**
+     * Выполняющиеся решатели (доступ только из потока обработки событий)
+     */
+    final List<AbstractSolver> running = new ArrayList<>();
+
+    /**
+     * Кэш решателей и решений: повторное нажатие "Решить" для той же системы не решает её заново
+     */
+    final SolverCache cache = new SolverCache(CACHE_BYTES);
+
     /**
      * Входная точка программы.
-     * Создание и отображение главного окна.
+     * Создание и отображение главного окна; при наличии аргументов командной строки -
+     * пакетное решение систем из файлов без графического интерфейса (BatchMain).
      * @param args Аргументы командной строки
      */
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(BatchMain.run(args));
+        }
         Locale.setDefault(Locale.US);
         Main dialog = new Main();
         dialog.pack();
@@ -60,6 +108,12 @@ public class Main extends JDialog {
                 }
             }
         });
+        btnCancel.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                cancel();
+            }
+        });
         updateView();
         setCoefficients(new float[][]{
                 {5, 2, 3},
@@ -178,7 +232,9 @@ public class Main extends JDialog {
     }
 
     /**
-     * Выполнение поиска решений СЛАУ и отображение результатов
+     * Запуск поиска решений СЛАУ в фоновых потоках.
+     * Методы выполняются параллельно (входные данные только читаются),
+     * результаты выводятся по мере готовности.
      * @throws Exception
      */
     void solve() throws Exception {
@@ -187,29 +243,101 @@ public class Main extends JDialog {
 
         displayEquations(coefficients, freeCoefficients);
 
-        AbstractSolver solver = new GaussSolver(coefficients, freeCoefficients);
-        float[] result = solver.solve();
-        displayResult(result, "Решение методом Гаусса");
+        submit(new CachingSolver(cache, "auto", coefficients, freeCoefficients), "Решение с автоматическим выбором метода");
+
+        //Остальные методы запускаются для сравнения только на небольших системах
+        if (coefficients.length > COMPARISON_MAX_RANK) {
+            txbResult.append("Сравнение с другими методами пропущено: n > " + COMPARISON_MAX_RANK + ".\r\n\r\n");
+        } else {
+            submit(new CachingSolver(cache, "gauss", coefficients, freeCoefficients), "Решение методом Гаусса");
+            submit(new CachingSolver(cache, "kramer", coefficients, freeCoefficients), "Решение методом Крамера");
+            submit(new CachingSolver(cache, "matrix", coefficients, freeCoefficients), "Решение матричным методом");
 
-        solver = new KramerSolver(coefficients, freeCoefficients);
-        result = solver.solve();
-        displayResult(result, "Решение методом Крамера");
+            MatrixAnalysis analysis = new MatrixAnalysis(coefficients);
+            if (analysis.isSymmetric() && analysis.isPositiveDiagonal()) {
+                submit(new CachingSolver(cache, "cholesky", coefficients, freeCoefficients), "Решение методом Холецкого");
+            }
 
-        solver = new MatrixSolver(coefficients, freeCoefficients);
-        result = solver.solve();
-        displayResult(result, "Решение матричным методом");
+            //Итерационные методы неприменимы при нулевом диагональном элементе
+            if (analysis.hasZeroDiagonal()) {
+                txbResult.append("Итерационные методы пропущены: на диагонали есть нулевой элемент.\r\n\r\n");
+            } else {
+                submit(new CachingSolver(cache, "zeidel", coefficients, freeCoefficients), "Решение методом Зейделя");
+                submit(new CachingSolver(cache, "jacobi", coefficients, freeCoefficients), "Решение методом Якоби");
+                submit(new CachingSolver(cache, "relaxation", coefficients, freeCoefficients), "Решение методом релаксации");
+            }
+        }
+        btnSolve.setEnabled(false);
+        btnCancel.setEnabled(true);
+    }
 
-        solver = new ZeidelSolver(coefficients, freeCoefficients);
-        result = solver.solve();
-        displayResult(result, "Решение методом Зейделя");
+    /**
+     * Запуск решателя в пуле потоков с ограничением времени SOLVER_TIMEOUT_SECONDS
+     * @param solver Решатель
+     * @param methodName Текст пояснения к результату
+     */
+    void submit(AbstractSolver solver, String methodName) {
+        running.add(solver);
+        ScheduledFuture<?> timeout = timer.schedule(solver::cancel, SOLVER_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            SolverStatistics result = null;
+            String error = null;
+            try {
+                result = solver.solveWithStatistics();
+            } catch (RuntimeException exception) {
+                error = exception.toString();
+            }
+            timeout.cancel(false);
+            long elapsed = (System.nanoTime() - start) / 1000000;
+            SolverStatistics statistics = result;
+            String message = error;
+            SwingUtilities.invokeLater(() -> finish(solver, methodName, statistics, elapsed, timeout.isDone() && !timeout.isCancelled(), message));
+        });
+    }
 
-        solver = new JacobiSolver(coefficients, freeCoefficients);
-        result = solver.solve();
-        displayResult(result, "Решение методом Якоби");
+    /**
+     * Вывод результата завершившегося решателя (выполняется в потоке обработки событий)
+     * @param solver Решатель
+     * @param methodName Текст пояснения к результату
+     * @param statistics Статистика решения или null, если решатель завершился исключением
+     * @param elapsed Время решения в миллисекундах
+     * @param timedOut true, если решение прервано по истечении времени
+     * @param error Текст исключения или null
+     */
+    void finish(AbstractSolver solver, String methodName, SolverStatistics statistics, long elapsed, boolean timedOut, String error) {
+        running.remove(solver);
+        methodName += " (" + elapsed + " мс)";
+        if (error != null) {
+            txbResult.append(methodName + ":\r\n\r\n    Ошибка: " + error + "\r\n\r\n");
+        } else if (timedOut) {
+            txbResult.append(methodName + ":\r\n\r\n    Превышено время решения (" + SOLVER_TIMEOUT_SECONDS + " с).\r\n\r\n");
+        } else if (solver.isCancelled()) {
+            txbResult.append(methodName + ":\r\n\r\n    Решение отменено.\r\n\r\n");
+        } else {
+            displayResult(statistics.getSolution(), methodName);
+        }
+        if (statistics != null) {
+            txbResult.append("    Статистика: " + statistics + "\r\n\r\n");
+        }
+        AbstractSolver method = solver instanceof CachingSolver ? ((CachingSolver) solver).getSolver() : solver;
+        if (method instanceof AutoSolver) {
+            txbResult.append(((AutoSolver) method).getReason() + "\r\n\r\n");
+        }
+        if (running.isEmpty()) {
+            txbResult.append(cache + "\r\n\r\n");
+            btnSolve.setEnabled(true);
+            btnCancel.setEnabled(false);
+        }
+    }
 
-        solver = new RelaxationSolver(coefficients, freeCoefficients);
-        result = solver.solve();
-        displayResult(result, "Решение методом релаксации");
+    /**
+     * Отмена всех выполняющихся решателей
+     */
+    void cancel() {
+        for (AbstractSolver solver : running) {
+            solver.cancel();
+        }
     }
 
     /**
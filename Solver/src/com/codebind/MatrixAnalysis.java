@@ -0,0 +1,266 @@
+package com.codebind;
+
+/**
+ * Анализ структуры матрицы коэффициентов за один проход:
+ * размерность, заполненность, симметричность, диагональное преобладание и ширина ленты
+ * @autor Epishov
+ * @version 1.0
+ */
+public class MatrixAnalysis {
+
+    /**
+     * Размерность матрицы
+     */
+    private final int rank;
+
+    /**
+     * Количество ненулевых элементов
+     */
+    private long nonZeroCount;
+
+    /**
+     * Признак симметричности матрицы
+     */
+    private boolean symmetric;
+
+    /**
+     * Признак строгого диагонального преобладания по строкам
+     */
+    private boolean diagonallyDominant;
+
+    /**
+     * Признак положительности всех диагональных элементов
+     */
+    private boolean positiveDiagonal;
+
+    /**
+     * Признак наличия нулевого диагонального элемента
+     */
+    private boolean zeroDiagonal;
+
+    /**
+     * Ширина ленты под диагональю (наибольшее i - j для ненулевого элемента)
+     */
+    private int lowerBandwidth;
+
+    /**
+     * Ширина ленты над диагональю (наибольшее j - i для ненулевого элемента)
+     */
+    private int upperBandwidth;
+
+    /**
+     * Анализ плотной матрицы
+     * @param matrix Квадратная матрица
+     */
+    public MatrixAnalysis(float[][] matrix) {
+        rank = matrix.length;
+        symmetric = true;
+        diagonallyDominant = true;
+        positiveDiagonal = true;
+        for (int i = 0; i < rank; i++) {
+            float[] row = matrix[i];
+            float offDiagonal = 0;
+            for (int j = 0; j < rank; j++) {
+                float value = row[j];
+                //Каждая пара (i, j), (j, i) сравнивается один раз
+                if (j > i && symmetric && matrix[j][i] != value) {
+                    symmetric = false;
+                }
+                if (value == 0) {
+                    continue;
+                }
+                nonZeroCount++;
+                if (j != i) {
+                    offDiagonal += Math.abs(value);
+                    band(i, j);
+                }
+            }
+            diagonal(row[i], offDiagonal);
+        }
+    }
+
+    /**
+     * Анализ плотной матрицы в непрерывном хранилище (строки читаются по одной)
+     * @param matrix Квадратная матрица
+     */
+    public MatrixAnalysis(DenseMatrix matrix) {
+        rank = matrix.getRank();
+        symmetric = true;
+        diagonallyDominant = true;
+        positiveDiagonal = true;
+        float[] row = new float[rank];
+        for (int i = 0; i < rank; i++) {
+            matrix.getRow(i, row, 0);
+            float offDiagonal = 0;
+            for (int j = 0; j < rank; j++) {
+                float value = row[j];
+                if (j > i && symmetric && matrix.get(j, i) != value) {
+                    symmetric = false;
+                }
+                if (value == 0) {
+                    continue;
+                }
+                nonZeroCount++;
+                if (j != i) {
+                    offDiagonal += Math.abs(value);
+                    band(i, j);
+                }
+            }
+            diagonal(row[i], offDiagonal);
+        }
+    }
+
+    /**
+     * Анализ разреженной матрицы
+     * @param matrix Разреженная матрица в формате CSR
+     */
+    public MatrixAnalysis(SparseMatrix matrix) {
+        rank = matrix.getRank();
+        symmetric = true;
+        diagonallyDominant = true;
+        positiveDiagonal = true;
+        for (int i = 0; i < rank; i++) {
+            float offDiagonal = 0;
+            for (int k = matrix.rowStart[i]; k < matrix.rowStart[i + 1]; k++) {
+                float value = matrix.values[k];
+                if (value == 0) {
+                    continue;
+                }
+                int j = matrix.columns[k];
+                nonZeroCount++;
+                if (j != i) {
+                    offDiagonal += Math.abs(value);
+                    band(i, j);
+                    if (symmetric && matrix.get(j, i) != value) {
+                        symmetric = false;
+                    }
+                }
+            }
+            diagonal(matrix.getDiagonal(i), offDiagonal);
+        }
+    }
+
+    /**
+     * Учёт ненулевого внедиагонального элемента в ширине ленты
+     * @param i Номер строки
+     * @param j Номер столбца
+     */
+    private void band(int i, int j) {
+        if (i > j) {
+            lowerBandwidth = Math.max(lowerBandwidth, i - j);
+        } else {
+            upperBandwidth = Math.max(upperBandwidth, j - i);
+        }
+    }
+
+    /**
+     * Учёт диагонального элемента строки
+     * @param value Диагональный элемент
+     * @param offDiagonal Сумма модулей внедиагональных элементов строки
+     */
+    private void diagonal(float value, float offDiagonal) {
+        if (value == 0) {
+            zeroDiagonal = true;
+        }
+        if (!(value > 0)) {
+            positiveDiagonal = false;
+        }
+        if (!(Math.abs(value) > offDiagonal)) {
+            diagonallyDominant = false;
+        }
+    }
+
+    /**
+     * Получение размерности матрицы
+     * @return Количество строк (столбцов) матрицы
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Получение количества ненулевых элементов
+     * @return Количество ненулевых элементов
+     */
+    public long getNonZeroCount() {
+        return nonZeroCount;
+    }
+
+    /**
+     * Получение доли ненулевых элементов
+     * @return Заполненность матрицы от 0 до 1
+     */
+    public double getDensity() {
+        return rank == 0 ? 0 : (double) nonZeroCount / ((double) rank * rank);
+    }
+
+    /**
+     * Проверка симметричности матрицы
+     * @return true, если A = Aᵀ
+     */
+    public boolean isSymmetric() {
+        return symmetric;
+    }
+
+    /**
+     * Проверка строгого диагонального преобладания по строкам.
+     * При нём сходятся методы Якоби и Зейделя.
+     * @return true, если |a_ii| > Σ|a_ij| (j ≠ i) для каждой строки
+     */
+    public boolean isDiagonallyDominant() {
+        return diagonallyDominant;
+    }
+
+    /**
+     * Проверка положительности диагонали
+     * @return true, если все диагональные элементы положительны
+     */
+    public boolean isPositiveDiagonal() {
+        return positiveDiagonal;
+    }
+
+    /**
+     * Проверка наличия нулевого диагонального элемента
+     * (методы Якоби, Зейделя и релаксации к такой матрице неприменимы)
+     * @return true, если хотя бы один диагональный элемент равен нулю
+     */
+    public boolean hasZeroDiagonal() {
+        return zeroDiagonal;
+    }
+
+    /**
+     * Получение ширины ленты под диагональю
+     * @return Наибольшее i - j для ненулевого элемента a_ij
+     */
+    public int getLowerBandwidth() {
+        return lowerBandwidth;
+    }
+
+    /**
+     * Получение ширины ленты над диагональю
+     * @return Наибольшее j - i для ненулевого элемента a_ij
+     */
+    public int getUpperBandwidth() {
+        return upperBandwidth;
+    }
+
+    /**
+     * Получение ширины ленты
+     * @return Количество диагоналей, содержащих ненулевые элементы
+     */
+    public int getBandwidth() {
+        return lowerBandwidth + upperBandwidth + 1;
+    }
+
+    /**
+     * Краткое описание структуры матрицы
+     * @return Текстовое описание
+     */
+    @Override
+    public String toString() {
+        return String.format("n = %d, ненулевых %d (%.1f%%), ширина ленты %d, %s, %s",
+                rank, nonZeroCount, 100 * getDensity(), getBandwidth(),
+                symmetric ? "симметричная" : "несимметричная",
+                diagonallyDominant ? "с диагональным преобладанием" : "без диагонального преобладания");
+    }
+}
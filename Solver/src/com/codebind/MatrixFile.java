@@ -0,0 +1,424 @@
+package com.codebind;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Двоичный файл системы уравнений, читаемый через отображение в память (NIO).
+ * <p>
+ * Заголовок (32 байта, порядок байтов little-endian): сигнатура "SLAU", версия (short),
+ * вид матрицы (byte: DENSE, SPARSE), точность значений (byte: 4 - float, 8 - double),
+ * размерность (int), резерв (int), количество хранимых элементов матрицы (long), резерв (long).
+ * <p>
+ * Данные плотной матрицы: n·n значений по строкам, затем n свободных членов.
+ * Данные разреженной матрицы (CSR): n + 1 начал строк (int), nnz номеров столбцов (int),
+ * nnz значений, затем n свободных членов.
+ * <p>
+ * Файл отображается участками не более MAX_CHUNK байт (ограничение MappedByteBuffer),
+ * строки плотной матрицы не пересекают границы участков, поэтому map() даёт
+ * представление матрицы без копирования.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class MatrixFile implements Closeable {
+
+    /**
+     * Сигнатура файла ("SLAU" при чтении little-endian)
+     */
+    public static final int MAGIC = 0x55414C53;
+
+    /**
+     * Версия формата
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * Вид матрицы: плотная
+     */
+    public static final byte DENSE = 0;
+
+    /**
+     * Вид матрицы: разреженная (CSR)
+     */
+    public static final byte SPARSE = 1;
+
+    /**
+     * Размер заголовка, байт
+     */
+    static final int HEADER_SIZE = 32;
+
+    /**
+     * Наибольший размер отображаемого участка, байт (кратен 8)
+     */
+    static final long MAX_CHUNK = Integer.MAX_VALUE & ~7L;
+
+    /**
+     * Размер буфера записи, байт
+     */
+    static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Канал открытого файла
+     */
+    private final FileChannel channel;
+
+    /**
+     * Вид матрицы (DENSE или SPARSE)
+     */
+    private final byte kind;
+
+    /**
+     * Размер значения, байт (4 или 8)
+     */
+    private final byte precision;
+
+    /**
+     * Размерность матрицы
+     */
+    private final int rank;
+
+    /**
+     * Количество хранимых элементов матрицы
+     */
+    private final long nonZeroCount;
+
+    /**
+     * Открытие файла и чтение заголовка
+     * @param path Путь к файлу
+     * @throws IOException при ошибке чтения или неверном заголовке
+     */
+    public MatrixFile(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                //чтение заголовка целиком
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("Файл '" + path + "' не является двоичным файлом системы уравнений.");
+            }
+            short version = header.getShort();
+            kind = header.get();
+            precision = header.get();
+            rank = header.getInt();
+            header.getInt();
+            nonZeroCount = header.getLong();
+            if (version != VERSION || (kind != DENSE && kind != SPARSE) || (precision != 4 && precision != 8)
+                    || rank <= 0 || nonZeroCount < 0 || (kind == DENSE && nonZeroCount != (long) rank * rank)) {
+                throw new IOException("Файл '" + path + "': неподдерживаемый или повреждённый заголовок.");
+            }
+            if (channel.size() < dataSize()) {
+                throw new IOException("Файл '" + path + "' обрезан: ожидается " + dataSize() + " байт.");
+            }
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Проверка, начинается ли файл с сигнатуры двоичного формата
+     * @param path Путь к файлу
+     * @return true, если файл в двоичном формате
+     * @throws IOException при ошибке чтения
+     */
+    public static boolean isMatrixFile(Path path) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining() && file.read(magic) >= 0) {
+                //чтение сигнатуры целиком
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Ожидаемый размер файла по заголовку
+     * @return Размер, байт
+     */
+    private long dataSize() {
+        long values = (nonZeroCount + rank) * precision;
+        if (kind == SPARSE) {
+            return HEADER_SIZE + 4L * (rank + 1) + 4L * nonZeroCount + values;
+        }
+        return HEADER_SIZE + values;
+    }
+
+    /**
+     * Проверка, хранится ли матрица в разреженном виде
+     * @return true для формата CSR
+     */
+    public boolean isSparse() {
+        return kind == SPARSE;
+    }
+
+    /**
+     * Получение размера значения
+     * @return 4 (float) или 8 (double)
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Получение размерности матрицы
+     * @return Количество строк (столбцов) матрицы
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Получение количества хранимых элементов матрицы
+     * @return n·n для плотной матрицы, nnz для разреженной
+     */
+    public long getNonZeroCount() {
+        return nonZeroCount;
+    }
+
+    /**
+     * Отображение участка файла в память только для чтения
+     * @param offset Смещение, байт
+     * @param size Размер, байт (не более MAX_CHUNK)
+     * @return Буфер с порядком байтов little-endian
+     * @throws IOException при ошибке отображения
+     */
+    private ByteBuffer map(long offset, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Плотная матрица над отображённым файлом без копирования в кучу (только для точности float).
+     * Матрица доступна только для чтения; решатели, изменяющие матрицу, работают с её копией.
+     * @return Матрица, строки которой читаются непосредственно из отображённых участков файла
+     * @throws IOException при ошибке отображения
+     */
+    public DenseMatrix map() throws IOException {
+        if (kind != DENSE || precision != 4) {
+            throw new IllegalStateException("Отображение матрицы доступно только для плотной матрицы во float.");
+        }
+        long rowBytes = 4L * rank;
+        int rows = BufferMatrix.rowsPerChunk(rank);
+        FloatBuffer[] chunks = new FloatBuffer[(rank + rows - 1) / rows];
+        for (int k = 0; k < chunks.length; k++) {
+            int first = k * rows;
+            chunks[k] = map(HEADER_SIZE + first * rowBytes, Math.min(rows, rank - first) * rowBytes).asFloatBuffer();
+        }
+        return new BufferMatrix(chunks, rank, rows);
+    }
+
+    /**
+     * Чтение значений из файла в массив float участками не более MAX_CHUNK байт
+     * @param offset Смещение первого значения, байт
+     * @param target Массив для записи
+     * @param from Первый индекс в массиве
+     * @param count Количество значений
+     * @throws IOException при ошибке чтения
+     */
+    private void readValues(long offset, float[] target, int from, int count) throws IOException {
+        int perChunk = (int) (MAX_CHUNK / precision);
+        while (count > 0) {
+            int part = Math.min(count, perChunk);
+            ByteBuffer bytes = map(offset, (long) part * precision);
+            if (precision == 4) {
+                bytes.asFloatBuffer().get(target, from, part);
+            } else {
+                DoubleBuffer values = bytes.asDoubleBuffer();
+                for (int k = 0; k < part; k++) {
+                    target[from + k] = (float) values.get(k);
+                }
+            }
+            offset += (long) part * precision;
+            from += part;
+            count -= part;
+        }
+    }
+
+    /**
+     * Чтение целых чисел из файла участками не более MAX_CHUNK байт
+     * @param offset Смещение первого числа, байт
+     * @param target Массив для записи
+     * @throws IOException при ошибке чтения
+     */
+    private void readInts(long offset, int[] target) throws IOException {
+        int perChunk = (int) (MAX_CHUNK / 4);
+        for (int from = 0; from < target.length; ) {
+            int part = Math.min(target.length - from, perChunk);
+            IntBuffer ints = map(offset, 4L * part).asIntBuffer();
+            ints.get(target, from, part);
+            offset += 4L * part;
+            from += part;
+        }
+    }
+
+    /**
+     * Чтение вектора свободных членов
+     * @return Вектор свободных членов
+     * @throws IOException при ошибке чтения
+     */
+    public float[] readFreeCoeff() throws IOException {
+        float[] freeCoeff = new float[rank];
+        readValues(dataSize() - (long) rank * precision, freeCoeff, 0, rank);
+        return freeCoeff;
+    }
+
+    /**
+     * Чтение системы в память (плотная матрица - в DenseMatrix, разреженная - в SparseMatrix).
+     * Значения копируются из отображённых участков групповыми операциями буферов.
+     * @return Система уравнений
+     * @throws IOException при ошибке чтения
+     */
+    public LinearSystem read() throws IOException {
+        float[] freeCoeff = readFreeCoeff();
+        if (kind == SPARSE) {
+            return new LinearSystem(readSparse(), freeCoeff);
+        }
+        DenseMatrix matrix = DenseMatrix.allocate(rank);
+        if (matrix instanceof ArrayMatrix) {
+            //Матрица целиком помещается в один массив и читается в него непрерывно
+            readValues(HEADER_SIZE, ((ArrayMatrix) matrix).values, 0, rank * rank);
+        } else {
+            float[] row = new float[rank];
+            for (int i = 0; i < rank; i++) {
+                readValues(HEADER_SIZE + (long) i * rank * precision, row, 0, rank);
+                matrix.setRow(i, row);
+            }
+        }
+        return new LinearSystem(matrix, freeCoeff);
+    }
+
+    /**
+     * Чтение разреженной матрицы
+     * @return Матрица в формате CSR
+     * @throws IOException при ошибке чтения или если матрица плотная
+     */
+    public SparseMatrix readSparse() throws IOException {
+        if (kind != SPARSE) {
+            throw new IllegalStateException("Матрица хранится в плотном виде.");
+        }
+        if (nonZeroCount > Integer.MAX_VALUE) {
+            throw new IOException("Количество ненулевых элементов превышает " + Integer.MAX_VALUE + ".");
+        }
+        int nnz = (int) nonZeroCount;
+        int[] rowStart = new int[rank + 1];
+        int[] columns = new int[nnz];
+        float[] values = new float[nnz];
+        long offset = HEADER_SIZE;
+        readInts(offset, rowStart);
+        offset += 4L * (rank + 1);
+        readInts(offset, columns);
+        offset += 4L * nnz;
+        readValues(offset, values, 0, nnz);
+        try {
+            return new SparseMatrix(rank, rowStart, columns, values);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException(ex.getMessage());
+        }
+    }
+
+    /**
+     * Закрытие файла. Отображённые участки остаются действительными до сборки мусора.
+     * @throws IOException при ошибке закрытия
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Запись системы с плотной матрицей в точности float
+     * @param path Путь к файлу
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     * @throws IOException при ошибке записи
+     */
+    public static void write(Path path, float[][] coeff, float[] freeCoeff) throws IOException {
+        int n = freeCoeff.length;
+        try (Output output = new Output(path, DENSE, n, (long) n * n)) {
+            for (float[] row : coeff) {
+                output.putFloats(row);
+            }
+            output.putFloats(freeCoeff);
+        }
+    }
+
+    /**
+     * Запись системы с разреженной матрицей в точности float
+     * @param path Путь к файлу
+     * @param sparse Разреженная матрица коэффициентов
+     * @param freeCoeff Вектор свободных членов
+     * @throws IOException при ошибке записи
+     */
+    public static void write(Path path, SparseMatrix sparse, float[] freeCoeff) throws IOException {
+        try (Output output = new Output(path, SPARSE, sparse.getRank(), sparse.getNonZeroCount())) {
+            output.putInts(sparse.rowStart);
+            output.putInts(sparse.columns);
+            output.putFloats(sparse.values);
+            output.putFloats(freeCoeff);
+        }
+    }
+
+    /**
+     * Последовательная запись файла через буфер фиксированного размера
+     */
+    static class Output implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        Output(Path path, byte kind, int rank, long nonZeroCount) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.putInt(MAGIC).putShort(VERSION).put(kind).put((byte) 4)
+                    .putInt(rank).putInt(0).putLong(nonZeroCount).putLong(0);
+        }
+
+        void putFloats(float[] values) throws IOException {
+            for (int from = 0; from < values.length; ) {
+                if (buffer.remaining() < 4) {
+                    flush();
+                }
+                int part = Math.min(values.length - from, buffer.remaining() / 4);
+                buffer.asFloatBuffer().put(values, from, part);
+                buffer.position(buffer.position() + 4 * part);
+                from += part;
+            }
+        }
+
+        void putInts(int[] values) throws IOException {
+            for (int from = 0; from < values.length; ) {
+                if (buffer.remaining() < 4) {
+                    flush();
+                }
+                int part = Math.min(values.length - from, buffer.remaining() / 4);
+                buffer.asIntBuffer().put(values, from, part);
+                buffer.position(buffer.position() + 4 * part);
+                from += part;
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -17,118 +17,144 @@ public class MatrixSolver extends AbstractSolver {
     }
 
     /**
-     * Поиск решения СЛАУ
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public MatrixSolver(DenseMatrix matrix, float[] freeCoeff){
+        super(matrix, freeCoeff);
+    }
+
+    /**
+     * Ширина блока столбцов при обновлении строк в методе Гаусса-Жордана
+     */
+    static final int BLOCK_SIZE = 64;
+
+    /**
+     * Вычисленная обратная матрица (кэш между вызовами solve)
+     */
+    private float[][] inverse;
+
+    /**
+     * Матрица коэффициентов, для которой вычислена обратная матрица
+     */
+    private float[][] inverseSource;
+
+    /**
+     * Поиск решения СЛАУ.
+     * Обратная матрица вычисляется один раз, повторные вызовы solve(float[]) стоят O(n²).
      * @return Вектор со значениями найденных неизвестных - решение СЛАУ
      */
     @Override
     public float[] solve() {
         int n = getRank();
-        float[][] inverse = inverse(coeff);
+        phase(SolverStatistics.FACTORIZATION);
+        float[][] inverse = getInverse();
         if(inverse==null) {
             return null;
         }
+        phase(SolverStatistics.SUBSTITUTION);
         float[] result = new float[n];
         for(int i=0; i<n; i++) {
-            result[i] = 0;
+            float[] row = inverse[i];
+            float sum = 0;
             for (int j = 0; j < n; j++) {
-                result[i] += inverse[i][j] * freeCoeff[j];
+                sum += row[j] * freeCoeff[j];
             }
+            result[i] = sum;
         }
         return result;
     }
 
     /**
-     * Функция вычисляет алгебраическое дополнение матрицы
-     * @param mat матрица
-     * @param temp алгебраическое дополнение
-     * @param p количество строк
-     * @param q количество столбцов
-     * @param n текущая размерность матрицы
+     * Получение (с кэшированием) обратной матрицы для текущей матрицы коэффициентов
+     * @return Обратная матрица или null, если матрица вырождена
      */
-    void cofactor(float mat[][], float temp[][], int p, int q, int n)    {
-        int i = 0, j = 0;
-        for (int row = 0; row < n; row++)
-        {
-            for (int col = 0; col < n; col++)
-            {
-                if (row != p && col != q)
-                {
-                    temp[i][j++] = mat[row][col];
-                    if (j == n - 1)
-                    {
-                        j = 0;
-                        i++;
-                    }
-                }
-            }
+    float[][] getInverse() {
+        float[][] source = getCoeff();
+        if (inverseSource != source) {
+            inverse = inverse(source);
+            inverseSource = source;
         }
+        return inverse;
     }
 
     /**
-     * Функция рекурсивно вычисляет определитель переданной матрицы
-     * @param mat матрица
-     * @param n размерность матрицы
-     * @return  возвращает определитель переданной матрицы
-     */
-    float determinantOfMatrix(float mat[][], int n)
-    {
-        float D = 0;
-        if (n == 1)
-            return mat[0][0];
-        float temp[][] = new float[n][n];
-        int sign = 1;
-        for (int f = 0; f < n; f++)
-        {
-            cofactor(mat, temp, 0, f, n);
-            D += sign * mat[0][f] * determinantOfMatrix(temp, n - 1);
-            sign = -sign;
-        }
-        return D;
-    }
-
-    /**
-     * Вычисление обратной матрицы
-     * @return  возвращает обратную матрицу для матрицы
+     * Вычисление обратной матрицы методом Гаусса-Жордана на месте за O(n³)
+     * с частичным выбором ведущего элемента.
+     * Обновление строк выполняется блоками по BLOCK_SIZE столбцов,
+     * чтобы участок ведущей строки оставался в кэше при проходе по всем строкам.
+     * @param matrix Квадратная матрица (не изменяется)
+     * @return  возвращает обратную матрицу для матрицы или null, если матрица вырождена
      */
     float[][] inverse(float[][] matrix) {
-        float[][] inverse = new float[matrix.length][matrix.length];
-        float det = determinantOfMatrix(matrix, matrix.length);
-        if (det == 0) {
-            return null;
-        }
-        float[][] adj = new float[matrix.length][matrix.length];
-        adjoint(matrix, adj);
-        for (int i = 0; i < matrix.length; i++)
-            for (int j = 0; j < matrix.length; j++)
-                inverse[i][j] = adj[i][j] / (float) det;
-        return inverse;
-    }
+        int n = matrix.length;
+        float[][] a = new float[n][];
+        for (int i = 0; i < n; i++)
+            a[i] = matrix[i].clone();
+        int[] swaps = new int[n];
+        float[] factors = new float[n];
 
-    /**
-     * Функция вычисляет присоединенную матрицу для переданной матрицы
-     * @param mat матрица
-     * @param adj присоединенная матрица
-     */
-    void adjoint(float mat[][],float [][]adj)
-    {
-        int N = mat.length;
-        if (N == 1)
-        {
-            adj[0][0] = 1;
-            return;
+        for (int k = 0; k < n; k++) {
+            if (isCancelled()) {
+                return null;
+            }
+            int p = k;
+            float max = Math.abs(a[k][k]);
+            for (int i = k + 1; i < n; i++) {
+                if (Math.abs(a[i][k]) > max) {
+                    max = Math.abs(a[i][k]);
+                    p = i;
+                }
+            }
+            if (max == 0) {
+                return null;
+            }
+            swaps[k] = p;
+            if (p != k) {
+                float[] row = a[p];
+                a[p] = a[k];
+                a[k] = row;
+            }
+
+            float[] rowK = a[k];
+            float pivotInv = 1 / rowK[k];
+            rowK[k] = 1;
+            for (int j = 0; j < n; j++)
+                rowK[j] *= pivotInv;
+
+            for (int i = 0; i < n; i++) {
+                if (i == k) {
+                    factors[i] = 0;
+                } else {
+                    factors[i] = a[i][k];
+                    a[i][k] = 0;
+                }
+            }
+            for (int jb = 0; jb < n; jb += BLOCK_SIZE) {
+                int jEnd = Math.min(jb + BLOCK_SIZE, n);
+                for (int i = 0; i < n; i++) {
+                    float f = factors[i];
+                    if (f == 0)
+                        continue;
+                    Kernels.INSTANCE.axpy(-f, rowK, jb, a[i], jb, jEnd - jb);
+                }
+            }
         }
-        int sign = 1;
-        float [][]temp = new float[N][N];
 
-        for (int i = 0; i < N; i++)
-        {
-            for (int j = 0; j < N; j++)
-            {
-                cofactor(mat, temp, i, j, N);
-                sign = ((i + j) % 2 == 0)? 1: -1;
-                adj[j][i] = (sign)*(determinantOfMatrix(temp, N-1));
+        //Перестановка строк исходной матрицы соответствует перестановке столбцов обратной
+        for (int k = n - 1; k >= 0; k--) {
+            int p = swaps[k];
+            if (p == k)
+                continue;
+            for (int i = 0; i < n; i++) {
+                float[] row = a[i];
+                float t = row[k];
+                row[k] = row[p];
+                row[p] = t;
             }
         }
+        return a;
     }
 
     /**
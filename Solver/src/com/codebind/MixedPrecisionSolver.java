@@ -0,0 +1,170 @@
+package com.codebind;
+
+/**
+ * Решение СЛАУ со смешанной точностью: LU-разложение выполняется в float,
+ * затем решение уточняется итерациями по невязке, вычисляемой в double.
+ * Даёт точность двойной арифметики при стоимости разложения одинарной
+ * для матриц с числом обусловленности, заметно меньшим 1/eps(float).
+ * @autor Epishov
+ * @version 1.0
+ */
+public class MixedPrecisionSolver extends AbstractDoubleSolver {
+
+    /**
+     * Ограничение на количество итераций уточнения
+     */
+    public int maxIterations;
+
+    /**
+     * Требуемая обратная ошибка ||b - A·x|| / (||A||·||x|| + ||b||) (нормы максимума)
+     */
+    public double eps;
+
+    /**
+     * Количество выполненных итераций уточнения при последнем решении
+     */
+    private int iterations;
+
+    /**
+     * Признак того, что при последнем решении уточнение не сошлось
+     * и система решена методом Гаусса в двойной точности
+     */
+    private boolean fallback;
+
+    /**
+     * LU-разложение матрицы коэффициентов в одинарной точности
+     */
+    private LUDecomposition decomposition;
+
+    /**
+     * Матрица коэффициентов, для которой получено разложение
+     */
+    private double[][] decompositionSource;
+
+    /**
+     * Норма матрицы коэффициентов ||A|| (максимальная сумма модулей по строкам)
+     */
+    private double matrixNorm;
+
+    /**
+     * Конструктор класса
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public MixedPrecisionSolver(double[][] coeff, double[] freeCoeff) {
+        super(coeff, freeCoeff);
+        maxIterations = 30;
+        eps = 1e-12;
+    }
+
+    /**
+     * Поиск решения СЛАУ.
+     * Уточнение завершается, когда обратная ошибка не превышает eps, или когда невязка перестаёт
+     * уменьшаться вдвое (достигнута точность арифметики). Если уточнение увеличивает невязку
+     * (матрица слишком плохо обусловлена для float), система решается методом Гаусса в двойной точности.
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если матрица вырождена
+     */
+    @Override
+    public double[] solve() {
+        int n = getRank();
+        iterations = 0;
+        fallback = false;
+        LUDecomposition lu = decompose();
+        if (lu.isSingular()) {
+            return fallback();
+        }
+        double[] x = new double[n];
+        float[] correction = lu.solve(toFloat(freeCoeff));
+        for (int i = 0; i < n; i++) {
+            x[i] = correction[i];
+        }
+        double bNorm = norm(freeCoeff);
+        if (bNorm == 0) {
+            return x;
+        }
+        double[] r = new double[n];
+        float[] scaled = new float[n];
+        double previous = Double.POSITIVE_INFINITY;
+        while (iterations < maxIterations) {
+            double rNorm = residual(x, r);
+            if (rNorm <= eps * (matrixNorm * norm(x) + bNorm)) {
+                return x;
+            }
+            if (!(rNorm < previous)) {
+                return fallback();
+            }
+            if (rNorm >= 0.5 * previous) {
+                return x;
+            }
+            previous = rNorm;
+            //Невязка масштабируется, чтобы малые значения не терялись в диапазоне float
+            for (int i = 0; i < n; i++) {
+                scaled[i] = (float) (r[i] / rNorm);
+            }
+            correction = lu.solve(scaled);
+            for (int i = 0; i < n; i++) {
+                x[i] += rNorm * correction[i];
+            }
+            iterations++;
+        }
+        return residual(x, r) <= eps * (matrixNorm * norm(x) + bNorm) ? x : fallback();
+    }
+
+    /**
+     * Норма максимума вектора
+     * @param x Вектор
+     * @return max |x[i]|
+     */
+    private static double norm(double[] x) {
+        double norm = 0;
+        for (double value : x) {
+            norm = Math.max(norm, Math.abs(value));
+        }
+        return norm;
+    }
+
+    /**
+     * Получение (с кэшированием) LU-разложения матрицы коэффициентов в одинарной точности
+     * @return LU-разложение матрицы коэффициентов
+     */
+    public LUDecomposition decompose() {
+        if (decompositionSource != coeff) {
+            decomposition = new LUDecomposition(toFloat(coeff));
+            decompositionSource = coeff;
+            matrixNorm = 0;
+            for (double[] row : coeff) {
+                double sum = 0;
+                for (double value : row) {
+                    sum += Math.abs(value);
+                }
+                matrixNorm = Math.max(matrixNorm, sum);
+            }
+        }
+        return decomposition;
+    }
+
+    /**
+     * Получение количества итераций уточнения при последнем решении
+     * @return Количество итераций
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Проверка, было ли последнее решение получено методом Гаусса в двойной точности
+     * @return true, если уточнение не сошлось
+     */
+    public boolean isFallback() {
+        return fallback;
+    }
+
+    /**
+     * Решение системы методом Гаусса в двойной точности
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ
+     */
+    private double[] fallback() {
+        fallback = true;
+        return new DoubleGaussSolver(coeff, freeCoeff).solve();
+    }
+}
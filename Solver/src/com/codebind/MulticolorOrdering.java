@@ -0,0 +1,105 @@
+package com.codebind;
+
+import java.util.Arrays;
+
+/**
+ * Многоцветное упорядочивание неизвестных по графу смежности матрицы.
+ * Неизвестные одного цвета не связаны друг с другом (a[i][j] = a[j][i] = 0),
+ * поэтому в методах Зейделя и релаксации их можно пересчитывать одновременно.
+ * Жадная раскраска в естественном порядке для пятиточечной сеточной матрицы
+ * даёт шахматное (red-black) упорядочивание из двух цветов.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class MulticolorOrdering {
+
+    /**
+     * Цвет каждой неизвестной
+     */
+    private final int[] colors;
+
+    /**
+     * Начала групп цветов в массиве rows (длина colorCount + 1)
+     */
+    final int[] colorStart;
+
+    /**
+     * Номера неизвестных, сгруппированные по цветам
+     */
+    final int[] rows;
+
+    /**
+     * Конструктор класса. Раскраска строится жадно за O(nnz).
+     * @param matrix Матрица коэффициентов в разреженном формате
+     */
+    public MulticolorOrdering(SparseMatrix matrix) {
+        int n = matrix.getRank();
+        //Портрет транспонированной матрицы, чтобы учитывать связи в обе стороны
+        int[] transposedStart = new int[n + 1];
+        for (int k = 0; k < matrix.columns.length; k++) {
+            transposedStart[matrix.columns[k] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            transposedStart[i + 1] += transposedStart[i];
+        }
+        int[] transposedRows = new int[matrix.columns.length];
+        int[] fill = transposedStart.clone();
+        for (int i = 0; i < n; i++) {
+            for (int k = matrix.rowStart[i]; k < matrix.rowStart[i + 1]; k++) {
+                transposedRows[fill[matrix.columns[k]]++] = i;
+            }
+        }
+
+        colors = new int[n];
+        int[] mark = new int[n + 1];
+        Arrays.fill(mark, -1);
+        int colorCount = 0;
+        for (int i = 0; i < n; i++) {
+            for (int k = matrix.rowStart[i]; k < matrix.rowStart[i + 1]; k++) {
+                int j = matrix.columns[k];
+                if (j < i)
+                    mark[colors[j]] = i;
+            }
+            for (int k = transposedStart[i]; k < transposedStart[i + 1]; k++) {
+                int j = transposedRows[k];
+                if (j < i)
+                    mark[colors[j]] = i;
+            }
+            int color = 0;
+            while (mark[color] == i)
+                color++;
+            colors[i] = color;
+            colorCount = Math.max(colorCount, color + 1);
+        }
+
+        colorStart = new int[colorCount + 1];
+        for (int i = 0; i < n; i++) {
+            colorStart[colors[i] + 1]++;
+        }
+        for (int c = 0; c < colorCount; c++) {
+            colorStart[c + 1] += colorStart[c];
+        }
+        rows = new int[n];
+        fill = colorStart.clone();
+        for (int i = 0; i < n; i++) {
+            rows[fill[colors[i]]++] = i;
+        }
+    }
+
+    /**
+     * Получение количества цветов
+     * @return Количество цветов
+     */
+    public int getColorCount() {
+        return colorStart.length - 1;
+    }
+
+    /**
+     * Получение цвета неизвестной
+     * @param row Номер неизвестной
+     * @return Номер цвета
+     */
+    public int getColor(int row) {
+        return colors[row];
+    }
+}
@@ -0,0 +1,171 @@
+package com.codebind;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Шаг метода Зейделя (релаксации) в многоцветном порядке.
+ * Цвета обрабатываются последовательно, строки внутри цвета - параллельно,
+ * так как они зависят только от неизвестных других цветов.
+ * @autor Epishov
+ * @version 1.0
+ */
+class MulticolorSweep {
+
+    /**
+     * Минимальное количество строк в задаче параллельного шага
+     */
+    static final int MIN_TASK_ROWS = 64;
+
+    /**
+     * Матрица коэффициентов
+     */
+    final SparseMatrix matrix;
+
+    /**
+     * Уровень параллелизма, для которого создан шаг
+     */
+    final int parallelism;
+
+    /**
+     * Вектор свободных членов (задаётся решателем перед каждым решением)
+     */
+    float[] freeCoeff;
+
+    /**
+     * Многоцветное упорядочивание неизвестных
+     */
+    private final MulticolorOrdering ordering;
+
+    /**
+     * Общий пул потоков (null - последовательный шаг)
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Максимальное изменение неизвестных на последнем шаге
+     */
+    float maxDelta;
+
+    /**
+     * Сумма квадратов изменений неизвестных на последнем шаге
+     */
+    double squaredDelta;
+
+    /**
+     * Конструктор класса. Раскраска зависит только от матрицы, поэтому решатель создаёт шаг один раз
+     * и использует его для всех последующих решений с той же матрицей и тем же уровнем параллелизма.
+     * @param matrix Матрица коэффициентов в разреженном формате
+     * @param parallelism Количество рабочих потоков (1 - последовательно)
+     */
+    MulticolorSweep(SparseMatrix matrix, int parallelism) {
+        this.matrix = matrix;
+        this.parallelism = parallelism;
+        this.ordering = new MulticolorOrdering(matrix);
+        this.pool = SolverPools.get(parallelism);
+    }
+
+    /**
+     * Выполнение одного шага: x_i = (1 - w)·x_i + w·(b_i - Σ a_ij·x_j) / a_ii по цветам
+     * @param x Текущее приближение (обновляется на месте)
+     * @param w Коэффициент релаксации (1 - метод Зейделя)
+     */
+    void sweep(float[] x, float w) {
+        sweep(x, w, false);
+    }
+
+    /**
+     * Выполнение одного шага с заданным направлением обхода цветов
+     * @param x Текущее приближение (обновляется на месте)
+     * @param w Коэффициент релаксации (1 - метод Зейделя)
+     * @param reverse true - цвета обходятся в обратном порядке (обратный ход SSOR)
+     */
+    void sweep(float[] x, float w, boolean reverse) {
+        maxDelta = 0;
+        squaredDelta = 0;
+        int parts = pool == null ? 1 : pool.getParallelism() * 4;
+        int colorCount = ordering.getColorCount();
+        for (int step = 0; step < colorCount; step++) {
+            int c = reverse ? colorCount - 1 - step : step;
+            int from = ordering.colorStart[c];
+            int to = ordering.colorStart[c + 1];
+            double[] delta;
+            if (pool == null || to - from <= MIN_TASK_ROWS) {
+                delta = sweepRows(x, w, from, to);
+            } else {
+                int grain = Math.max(MIN_TASK_ROWS, (to - from) / parts);
+                delta = pool.invoke(new ColorTask(x, w, from, to, grain));
+            }
+            if (delta[0] > maxDelta || delta[0] != delta[0])
+                maxDelta = (float) delta[0];
+            squaredDelta += delta[1];
+        }
+    }
+
+    /**
+     * Пересчёт неизвестных ordering.rows[from .. to) одного цвета
+     * @param x Текущее приближение
+     * @param w Коэффициент релаксации
+     * @param from Начало участка в ordering.rows
+     * @param to Конец участка в ordering.rows
+     * @return Максимальное изменение и сумма квадратов изменений
+     */
+    double[] sweepRows(float[] x, float w, int from, int to) {
+        SparseMatrix a = matrix;
+        float max = 0;
+        double squared = 0;
+        for (int r = from; r < to; r++) {
+            int i = ordering.rows[r];
+            float sum = freeCoeff[i];
+            for (int k = a.rowStart[i]; k < a.rowStart[i + 1]; k++) {
+                int j = a.columns[k];
+                if (j != i)
+                    sum -= a.values[k] * x[j];
+            }
+            float value = w * (sum / a.getDiagonal(i)) + (1 - w) * x[i];
+            float delta = Math.abs(value - x[i]);
+            x[i] = value;
+            if (delta > max || delta != delta)
+                max = delta;
+            squared += (double) delta * delta;
+        }
+        return new double[]{max, squared};
+    }
+
+    /**
+     * Задача параллельного пересчёта участка неизвестных одного цвета
+     */
+    class ColorTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final float[] x;
+        private final float w;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        ColorTask(float[] x, float w, int from, int to, int grain) {
+            this.x = x;
+            this.w = w;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= grain) {
+                return sweepRows(x, w, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ColorTask left = new ColorTask(x, w, from, middle, grain);
+            left.fork();
+            double[] right = new ColorTask(x, w, middle, to, grain).compute();
+            double[] result = left.join();
+            if (right[0] > result[0] || right[0] != right[0])
+                result[0] = right[0];
+            result[1] += right[1];
+            return result;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.codebind;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Реализация решения СЛАУ методом Гаусса с параллельным прямым ходом.
+ * На каждом шаге исключения строки ниже ведущей делятся на полосы,
+ * которые обрабатываются задачами общего пула потоков (SolverPools); так же выполняется LU-разложение для solve(float[]).
+ * Арифметика по каждой строке совпадает с последовательным GaussSolver, поэтому результаты совпадают.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class ParallelGaussSolver extends GaussSolver {
+
+    /**
+     * Минимальное количество элементов, обновляемых одной задачей.
+     * Меньшие участки обрабатываются без разбиения, чтобы накладные расходы не превышали выигрыш.
+     */
+    static final int MIN_TASK_WORK = 1 << 14;
+
+    /**
+     * Уровень параллелизма (количество рабочих потоков)
+     */
+    public int parallelism;
+
+    /**
+     * Конструктор класса. Уровень параллелизма равен количеству доступных процессоров.
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public ParallelGaussSolver(float[][] coeff, float[] freeCoeff) {
+        this(coeff, freeCoeff, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Конструктор класса для матрицы в непрерывном хранилище. Уровень параллелизма равен количеству доступных процессоров.
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public ParallelGaussSolver(DenseMatrix matrix, float[] freeCoeff) {
+        this(matrix, freeCoeff, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Конструктор класса
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     * @param parallelism Уровень параллелизма (количество рабочих потоков)
+     */
+    public ParallelGaussSolver(float[][] coeff, float[] freeCoeff, int parallelism) {
+        super(coeff, freeCoeff);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     * @param parallelism Уровень параллелизма (количество рабочих потоков)
+     */
+    public ParallelGaussSolver(DenseMatrix matrix, float[] freeCoeff, int parallelism) {
+        super(matrix, freeCoeff);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Получение общего пула потоков для текущего уровня параллелизма (см. SolverPools)
+     * @return Пул потоков или null, если parallelism не больше 1
+     */
+    ForkJoinPool pool() {
+        return SolverPools.get(parallelism);
+    }
+
+    /**
+     * LU-разложение с параллельным обновлением строк на каждом шаге
+     * (используется solve(float[]), AutoSolver и кэшем решений)
+     * @return Новое LU-разложение
+     */
+    @Override
+    protected LUDecomposition factorize() {
+        return new LUDecomposition(this, pool());
+    }
+
+    /**
+     * Шаг прямого хода: обновление строк ниже ведущей параллельными задачами
+     * @param matrix Расширенная матрица в плоском построчном буфере
+     * @param n Количество неизвестных
+     * @param k Номер ведущей строки
+     */
+    @Override
+    protected void eliminate(float[] matrix, int n, int k) {
+        int rowWork = n + 1 - k;
+        ForkJoinPool pool = pool();
+        if (pool == null || (long) (n - k - 1) * rowWork <= MIN_TASK_WORK) {
+            super.eliminate(matrix, n, k);
+            return;
+        }
+        int grain = Math.max(1, MIN_TASK_WORK / rowWork);
+        pool.invoke(new EliminationTask(matrix, n, k, k + 1, n, grain));
+    }
+
+    /**
+     * Задача исключения для полосы строк [from, to)
+     */
+    static class EliminationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final float[] matrix;
+        private final int n;
+        private final int k;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        EliminationTask(float[] matrix, int n, int k, int from, int to, int grain) {
+            this.matrix = matrix;
+            this.n = n;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                eliminateRows(matrix, n, k, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EliminationTask(matrix, n, k, from, middle, grain),
+                    new EliminationTask(matrix, n, k, middle, to, grain));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.codebind;
+
+/**
+ * Предобусловливатель для итерационных методов: приближённое обращение z = M⁻¹·r
+ * @autor Epishov
+ * @version 1.0
+ */
+public interface Preconditioner {
+
+    /**
+     * Подготовка предобусловливателя для матрицы коэффициентов.
+     * Вызывается решателем перед началом итераций.
+     * @param matrix Матрица коэффициентов в разреженном формате
+     */
+    void setup(SparseMatrix matrix);
+
+    /**
+     * Применение предобусловливателя z = M⁻¹·r
+     * @param r Исходный вектор (не изменяется)
+     * @param z Вектор для записи результата
+     */
+    void apply(float[] r, float[] z);
+}
@@ -7,6 +7,53 @@ package com.codebind;
  */
 public class RelaxationSolver extends IterationSolver {
 
+    /**
+     * Количество шагов метода Зейделя, по которым оценивается оптимальный коэффициент релаксации
+     */
+    static final int ADAPTIVE_SWEEPS = 20;
+
+    /**
+     * Наибольший допустимый оценённый коэффициент релаксации
+     */
+    static final float MAX_RELAXATION = 1.95f;
+
+    /**
+     * Коэффициент релаксации (0 < w < 2; w < 1 - нижняя релаксация, w > 1 - верхняя)
+     */
+    public float w;
+
+    /**
+     * Адаптивный выбор коэффициента релаксации: по первым шагам метода Зейделя оценивается
+     * спектральный радиус матрицы Якоби и далее используется близкий к оптимальному w
+     */
+    public boolean adaptive;
+
+    /**
+     * Симметричный вариант (SSOR): каждая итерация - прямой и обратный проход
+     */
+    public boolean symmetric;
+
+    /**
+     * Пересчёт неизвестных в многоцветном порядке: неизвестные одного цвета
+     * обновляются параллельно (см. parallelism)
+     */
+    public boolean multicolor;
+
+    /**
+     * Коэффициент релаксации, использованный при последнем решении
+     */
+    private float usedW;
+
+    /**
+     * Сумма квадратов изменений неизвестных за последнюю итерацию
+     */
+    private double squaredNorm;
+
+    /**
+     * Многоцветный шаг текущего решения (null, если multicolor не включён)
+     */
+    private MulticolorSweep colorSweep;
+
     /**
      * Конструктор класса
      * @param coeff Матрица коэффициентов при неизвестных
@@ -14,6 +61,27 @@ public class RelaxationSolver extends IterationSolver {
      */
     public RelaxationSolver(float[][] coeff, float[] freeCoeff){
         super(coeff, freeCoeff);
+        w = 0.5f;
+    }
+
+    /**
+     * Конструктор класса для разреженной матрицы коэффициентов
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public RelaxationSolver(SparseMatrix sparse, float[] freeCoeff){
+        super(sparse, freeCoeff);
+        w = 0.5f;
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public RelaxationSolver(DenseMatrix matrix, float[] freeCoeff){
+        super(matrix, freeCoeff);
+        w = 0.5f;
     }
 
     /**
@@ -22,38 +90,142 @@ public class RelaxationSolver extends IterationSolver {
      */
     @Override
     public float[] solve() {
-        float[][] A = coeff;
-        float[] B = freeCoeff;
-        float w = 0.5f; //коэффициент релаксации
-        int n = A.length;
-        int i, j;
-        int k = 0;
-        float norma = 0;
-        float[] x = new float[n];
-        float[] xn = new float[n];
-        for (i = 0; i < n; i++) {
-            xn[i] = 0;
-            x[i] = xn[i];
+        phase(SolverStatistics.SETUP);
+        int n = getRank();
+        float[] x = warmStart();
+        if (x == null) {
+            x = new float[n];
         }
-        do {
-            k++;
-            norma = 0;
-            for (i = 0; i < n; i++) {
-                x[i] = B[i];
-                for (j = 0; j < n; j++) {
-                    if (i != j)
-                        x[i] = x[i] - A[i][j] * x[j];
+        DenseMatrix A = sparse == null ? getMatrix() : null;
+        colorSweep = multicolor ? multicolorSweep() : null;
+        float norma;
+        usedW = w;
+        monitor.start(eps, maxIterations);
+        phase(SolverStatistics.ITERATIONS);
+        if (adaptive) {
+            //Оценка по шагам метода Зейделя: для согласованно упорядоченных матриц
+            //отношение евклидовых норм соседних поправок стремится снизу к ρ(Gauss-Seidel) = ρ(Jacobi)²,
+            //поэтому w получается не больше оптимального
+            double previous = 0;
+            double ratio = 0;
+            usedW = 1;
+            int k = 0;
+            boolean running;
+            do {
+                norma = iteration(A, x, 1);
+                k++;
+                double current = Math.sqrt(squaredNorm);
+                if (previous > 0) {
+                    ratio = current / previous;
                 }
-                x[i] /= A[i][i];
+                previous = current;
+                running = monitor.next(norma, x);
+            } while (running && k < ADAPTIVE_SWEEPS);
+            if (!running) {
+                return remember(monitor.isFailed() ? null : x);
+            }
+            usedW = optimalRelaxation(ratio);
+        }
+        do {
+            norma = iteration(A, x, usedW);
+        }
+        while (monitor.next(norma, x));
+        return remember(monitor.isFailed() ? null : x);
+    }
 
-                x[i] = w * x[i] + (1 - w) * xn[i];
+    /**
+     * Оптимальный коэффициент верхней релаксации w = 2 / (1 + √(1 - ρ(J)²))
+     * @param gaussSeidelRadius Оценка спектрального радиуса метода Зейделя ρ(J)²
+     * @return Коэффициент релаксации в диапазоне [1, MAX_RELAXATION]
+     */
+    static float optimalRelaxation(double gaussSeidelRadius) {
+        if (!(gaussSeidelRadius > 0)) {
+            return 1;
+        }
+        double lambda = Math.min(gaussSeidelRadius, 1);
+        double w = 2 / (1 + Math.sqrt(1 - lambda));
+        return (float) Math.min(Math.max(w, 1), MAX_RELAXATION);
+    }
+
+    /**
+     * Получение коэффициента релаксации, использованного при последнем решении
+     * (в адаптивном режиме - оценённого)
+     * @return Коэффициент релаксации
+     */
+    public float getUsedRelaxation() {
+        return usedW;
+    }
 
-                if (Math.abs(x[i] - xn[i]) > norma)
-                    norma = Math.abs(x[i] - xn[i]);
-                xn[i] = x[i];
+    /**
+     * Одна итерация метода: прямой проход, а в симметричном режиме - прямой и обратный
+     * @param A Плотная матрица коэффициентов (null для разреженной)
+     * @param x Текущее приближение (обновляется на месте)
+     * @param w Коэффициент релаксации
+     * @return Максимальное изменение неизвестных за итерацию
+     */
+    float iteration(DenseMatrix A, float[] x, float w) {
+        squaredNorm = 0;
+        float norma = sweep(A, x, w, false);
+        if (symmetric) {
+            norma = Math.max(norma, sweep(A, x, w, true));
+        }
+        return norma;
+    }
+
+    /**
+     * Проход x_i = (1 - w)·x_i + w·(b_i - Σ a_ij·x_j) / a_ii по всем неизвестным
+     * @param A Плотная матрица коэффициентов (null для разреженной)
+     * @param x Текущее приближение (обновляется на месте)
+     * @param w Коэффициент релаксации
+     * @param backward true - обход от последней неизвестной к первой
+     * @return Максимальное изменение неизвестных за проход
+     */
+    float sweep(DenseMatrix A, float[] x, float w, boolean backward) {
+        if (colorSweep != null) {
+            colorSweep.sweep(x, w, backward);
+            squaredNorm += colorSweep.squaredDelta;
+            return colorSweep.maxDelta;
+        }
+        float[] B = freeCoeff;
+        int n = x.length;
+        float norma = 0;
+        double squared = 0;
+        for (int step = 0; step < n; step++) {
+            int i = backward ? n - 1 - step : step;
+            float value;
+            if (sparse != null) {
+                value = sparseRow(i, x);
+            } else {
+                value = B[i] - (A.dot(i, x, 0, i) + A.dot(i, x, i + 1, n));
+                value /= A.get(i, i);
             }
+
+            value = w * value + (1 - w) * x[i];
+
+            float delta = Math.abs(value - x[i]);
+            if (delta > norma || delta != delta)
+                norma = delta;
+            squared += (double) delta * delta;
+            x[i] = value;
+        }
+        squaredNorm += squared;
+        return norma;
+    }
+
+    /**
+     * Значение неизвестной i по методу Зейделя для разреженной матрицы за O(nnz строки)
+     * @param i Номер неизвестной
+     * @param x Текущее приближение
+     * @return Новое (нерелаксированное) значение неизвестной
+     */
+    float sparseRow(int i, float[] x) {
+        SparseMatrix A = sparse;
+        float sum = freeCoeff[i];
+        for (int k = A.rowStart[i]; k < A.rowStart[i + 1]; k++) {
+            int j = A.columns[k];
+            if (j != i)
+                sum -= A.values[k] * x[j];
         }
-        while (norma > eps && k < maxIterations);
-        return x;
+        return sum / A.getDiagonal(i);
     }
 }
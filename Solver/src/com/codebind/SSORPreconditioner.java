@@ -0,0 +1,82 @@
+package com.codebind;
+
+/**
+ * Предобусловливатель симметричной последовательной верхней релаксации (SSOR):
+ * M = (D + w·L)·D⁻¹·(D + w·U) / (w·(2 - w))
+ * @autor Epishov
+ * @version 1.0
+ */
+public class SSORPreconditioner implements Preconditioner {
+
+    /**
+     * Коэффициент релаксации (0 < w < 2)
+     */
+    public float w;
+
+    /**
+     * Матрица коэффициентов
+     */
+    private SparseMatrix matrix;
+
+    /**
+     * Конструктор класса с коэффициентом релаксации 1 (симметричный Гаусс-Зейдель)
+     */
+    public SSORPreconditioner() {
+        this(1);
+    }
+
+    /**
+     * Конструктор класса
+     * @param w Коэффициент релаксации (0 < w < 2)
+     */
+    public SSORPreconditioner(float w) {
+        this.w = w;
+    }
+
+    /**
+     * Подготовка предобусловливателя для матрицы коэффициентов
+     * @param matrix Матрица коэффициентов в разреженном формате
+     */
+    @Override
+    public void setup(SparseMatrix matrix) {
+        this.matrix = matrix;
+    }
+
+    /**
+     * Применение предобусловливателя: прямой и обратный треугольные проходы за O(nnz)
+     * @param r Исходный вектор (не изменяется)
+     * @param z Вектор для записи результата
+     */
+    @Override
+    public void apply(float[] r, float[] z) {
+        SparseMatrix a = matrix;
+        int n = a.getRank();
+        //Прямой ход: (D + w·L)·y = r, затем y = D·y
+        for (int i = 0; i < n; i++) {
+            float sum = r[i];
+            for (int k = a.rowStart[i]; k < a.rowStart[i + 1]; k++) {
+                int j = a.columns[k];
+                if (j < i)
+                    sum -= w * a.values[k] * z[j];
+            }
+            z[i] = sum / a.getDiagonal(i);
+        }
+        for (int i = 0; i < n; i++) {
+            z[i] *= a.getDiagonal(i);
+        }
+        //Обратный ход: (D + w·U)·z = y
+        float scale = w * (2 - w);
+        for (int i = n - 1; i >= 0; i--) {
+            float sum = z[i];
+            for (int k = a.rowStart[i]; k < a.rowStart[i + 1]; k++) {
+                int j = a.columns[k];
+                if (j > i)
+                    sum -= w * a.values[k] * z[j];
+            }
+            z[i] = sum / a.getDiagonal(i);
+        }
+        for (int i = 0; i < n; i++) {
+            z[i] *= scale;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.codebind;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Событие Java Flight Recorder о решении СЛАУ. Записывается при включённой записи
+ * (например, java -XX:StartFlightRecording ...) для каждого решения через AbstractSolver.solveWithStatistics();
+ * длительность события - время решения, поля - статистика решения.
+ * @autor Epishov
+ * @version 1.0
+ */
+@Name("com.codebind.Solve")
+@Label("Решение СЛАУ")
+@Category("Solver")
+@Description("Решение системы линейных уравнений")
+@StackTrace(false)
+class SolveEvent extends Event {
+
+    @Label("Метод")
+    String method;
+
+    @Label("Размерность")
+    int rank;
+
+    @Label("Итерации")
+    int iterations;
+
+    @Label("Причина окончания")
+    String status;
+
+    @Label("Относительная невязка")
+    double residual;
+
+    @Label("Выделено памяти")
+    @DataAmount
+    long allocated;
+
+    @Label("Подготовка")
+    @Timespan
+    long setup;
+
+    @Label("Разложение")
+    @Timespan
+    long factorization;
+
+    @Label("Подстановка")
+    @Timespan
+    long substitution;
+
+    @Label("Итерации (время)")
+    @Timespan
+    long iteration;
+}
@@ -0,0 +1,502 @@
+package com.codebind;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ограниченный по объёму кэш решателей с вычисленными разложениями и найденных решений.
+ * Ключ - имя метода и 64-битный отпечаток матрицы коэффициентов; совпадение отпечатка проверяется
+ * сравнением с сохранённой копией матрицы, поэтому коллизия отпечатков не приводит к неверному решению.
+ * Для каждой матрицы хранится решатель (повторная система с новым вектором свободных членов решается
+ * по сохранённому разложению за O(n²)) и последние SOLUTIONS_PER_MATRIX решений (повторная система целиком -
+ * за время вычисления отпечатка). При превышении объёма вытесняются давно не использованные матрицы.
+ * Кэш потокобезопасен; используется через CachingSolver.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class SolverCache {
+
+    /**
+     * Результат поиска в кэше
+     */
+    public enum Lookup {
+        /**
+         * Найдено решение системы целиком
+         */
+        SOLUTION,
+        /**
+         * Найден решатель с разложением матрицы, решение выполнено для нового вектора свободных членов
+         */
+        FACTORIZATION,
+        /**
+         * Матрица в кэше отсутствует
+         */
+        MISS
+    }
+
+    /**
+     * Количество решений, хранимых для одной матрицы
+     */
+    public static final int SOLUTIONS_PER_MATRIX = 16;
+
+    /**
+     * Наибольший суммарный объём записей, байт (оценка)
+     */
+    private final long capacity;
+
+    /**
+     * Записи в порядке последнего обращения (первая - давно не использованная)
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Суммарный объём записей, байт (оценка)
+     */
+    private long bytes;
+
+    /**
+     * Количество найденных решений
+     */
+    private long hits;
+
+    /**
+     * Количество найденных разложений
+     */
+    private long factorizationHits;
+
+    /**
+     * Количество промахов
+     */
+    private long misses;
+
+    /**
+     * Количество вытесненных записей
+     */
+    private long evictions;
+
+    /**
+     * Конструктор класса
+     * @param capacity Наибольший суммарный объём записей, байт
+     * @throws IllegalArgumentException если объём не положителен
+     */
+    public SolverCache(long capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Объём кэша должен быть положительным.");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Ключ записи: имя метода и отпечаток матрицы
+     */
+    static final class Key {
+
+        /**
+         * Имя метода
+         */
+        final String method;
+
+        /**
+         * Отпечаток матрицы коэффициентов
+         */
+        final long fingerprint;
+
+        /**
+         * Конструктор класса
+         * @param method Имя метода
+         * @param fingerprint Отпечаток матрицы коэффициентов
+         */
+        Key(String method, long fingerprint) {
+            this.method = method;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return fingerprint == key.fingerprint && method.equals(key.method);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fingerprint) * 31 + method.hashCode();
+        }
+    }
+
+    /**
+     * Запись кэша: копия матрицы, решатель над ней и последние решения
+     */
+    static final class Entry {
+
+        /**
+         * Ключ записи
+         */
+        final Key key;
+
+        /**
+         * Копия плотной матрицы коэффициентов (null для разреженной)
+         */
+        final DenseMatrix matrix;
+
+        /**
+         * Копия разреженной матрицы коэффициентов (null для плотной)
+         */
+        final SparseMatrix sparse;
+
+        /**
+         * Решатель над копией матрицы с сохранённым разложением (доступ под блокировкой записи)
+         */
+        final AbstractSolver solver;
+
+        /**
+         * Оценка объёма записи, байт
+         */
+        final long bytes;
+
+        /**
+         * Последние решения по отпечатку вектора свободных членов: {копия вектора, решение}
+         */
+        private final LinkedHashMap<Long, float[][]> solutions = new LinkedHashMap<Long, float[][]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, float[][]> eldest) {
+                return size() > SOLUTIONS_PER_MATRIX;
+            }
+        };
+
+        /**
+         * Конструктор класса
+         * @param key Ключ записи
+         * @param system Система с копией матрицы коэффициентов
+         * @param solver Решатель над копией матрицы
+         */
+        Entry(Key key, LinearSystem system, AbstractSolver solver) {
+            this.key = key;
+            this.matrix = system.matrix;
+            this.sparse = system.sparse;
+            this.solver = solver;
+            long n = system.getRank();
+            //Копия матрицы и разложение (того же порядка) плюс хранимые решения
+            long matrixBytes = sparse != null ? 8L * sparse.getNonZeroCount() + 4 * (n + 1) : 4 * n * n;
+            this.bytes = 2 * matrixBytes + 8 * n * SOLUTIONS_PER_MATRIX;
+        }
+
+        /**
+         * Поиск сохранённого решения
+         * @param fingerprint Отпечаток вектора свободных членов
+         * @param freeCoeff Вектор свободных членов
+         * @return Копия решения или null
+         */
+        synchronized float[] getSolution(long fingerprint, float[] freeCoeff) {
+            float[][] solution = solutions.get(fingerprint);
+            if (solution == null || !Arrays.equals(solution[0], freeCoeff)) {
+                return null;
+            }
+            return solution[1].clone();
+        }
+
+        /**
+         * Сохранение решения
+         * @param fingerprint Отпечаток вектора свободных членов
+         * @param freeCoeff Вектор свободных членов
+         * @param solution Решение
+         */
+        synchronized void putSolution(long fingerprint, float[] freeCoeff, float[] solution) {
+            solutions.put(fingerprint, new float[][]{freeCoeff.clone(), solution.clone()});
+        }
+
+        /**
+         * Проверка совпадения сохранённой матрицы с матрицей решателя
+         * @param input Решатель с проверяемой матрицей
+         * @return true, если матрицы совпадают поэлементно
+         */
+        boolean matches(AbstractSolver input) {
+            if (input.sparse != null) {
+                return sparse != null && SolverCache.equals(sparse, input.sparse);
+            }
+            int n = input.getRank();
+            if (matrix == null || matrix.getRank() != n) {
+                return false;
+            }
+            float[] stored = new float[n];
+            float[] row = new float[n];
+            for (int i = 0; i < n; i++) {
+                matrix.getRow(i, stored, 0);
+                input.copyRow(i, row, 0);
+                if (!Arrays.equals(stored, row)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Поиск записи для матрицы решателя
+     * @param method Имя метода
+     * @param fingerprint Отпечаток матрицы коэффициентов
+     * @param input Решатель (его матрица сверяется с сохранённой копией)
+     * @return Запись или null
+     */
+    Entry find(String method, long fingerprint, AbstractSolver input) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(new Key(method, fingerprint));
+        }
+        //Поэлементное сравнение O(n²) выполняется без блокировки кэша
+        return entry != null && entry.matches(input) ? entry : null;
+    }
+
+    /**
+     * Добавление записи с вытеснением давно не использованных
+     * @param entry Запись (не добавляется, если одна превышает объём кэша)
+     */
+    synchronized void put(Entry entry) {
+        if (entry.bytes > capacity) {
+            return;
+        }
+        Entry previous = entries.put(entry.key, entry);
+        if (previous != null) {
+            bytes -= previous.bytes;
+        }
+        bytes += entry.bytes;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > capacity && eldest.hasNext()) {
+            Entry removed = eldest.next();
+            eldest.remove();
+            bytes -= removed.bytes;
+            evictions++;
+        }
+    }
+
+    /**
+     * Удаление записи (например, если её решатель был отменён)
+     * @param entry Запись
+     */
+    synchronized void remove(Entry entry) {
+        if (entries.remove(entry.key, entry)) {
+            bytes -= entry.bytes;
+        }
+    }
+
+    /**
+     * Учёт результата поиска
+     * @param lookup Результат поиска
+     */
+    synchronized void record(Lookup lookup) {
+        switch (lookup) {
+            case SOLUTION:
+                hits++;
+                break;
+            case FACTORIZATION:
+                factorizationHits++;
+                break;
+            default:
+                misses++;
+                break;
+        }
+    }
+
+    /**
+     * Очистка кэша (счётчики сохраняются)
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Получение количества решений, найденных в кэше
+     * @return Количество обращений
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Получение количества решений по сохранённому разложению
+     * @return Количество обращений
+     */
+    public synchronized long getFactorizationHits() {
+        return factorizationHits;
+    }
+
+    /**
+     * Получение количества промахов
+     * @return Количество обращений
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Получение количества вытесненных записей
+     * @return Количество записей
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Получение количества хранимых матриц
+     * @return Количество записей
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Получение оценки занятого объёма
+     * @return Объём, байт
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Текстовое представление счётчиков
+     * @return Строка со счётчиками кэша
+     */
+    @Override
+    public synchronized String toString() {
+        return "Кэш решений: матриц " + entries.size() + ", " + bytes / 1024 + " КБ из " + capacity / 1024
+                + " КБ, решений из кэша " + hits + ", по разложению " + factorizationHits
+                + ", промахов " + misses + ", вытеснено " + evictions;
+    }
+
+    /**
+     * Перемешивание 64-битного значения (финализатор SplitMix64)
+     * @param h Исходное значение
+     * @return Перемешанное значение
+     */
+    static long mix(long h) {
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+
+    /**
+     * Добавление участка массива к отпечатку: пары значений объединяются в 64-битные слова
+     * @param h Текущий отпечаток
+     * @param values Массив
+     * @param length Количество элементов
+     * @return Новый отпечаток
+     */
+    static long hash(long h, float[] values, int length) {
+        int k = 0;
+        for (; k + 1 < length; k += 2) {
+            long word = ((long) Float.floatToIntBits(values[k]) << 32) | (Float.floatToIntBits(values[k + 1]) & 0xffffffffL);
+            h = (h ^ mix(word)) * 0x9e3779b97f4a7c15L;
+        }
+        if (k < length) {
+            h = (h ^ mix(Float.floatToIntBits(values[k]))) * 0x9e3779b97f4a7c15L;
+        }
+        return h;
+    }
+
+    /**
+     * Отпечаток вектора
+     * @param values Вектор
+     * @return 64-битный отпечаток
+     */
+    public static long fingerprint(float[] values) {
+        return mix(hash(values.length, values, values.length));
+    }
+
+    /**
+     * Отпечаток плотной матрицы (строки читаются по одной, без копии всей матрицы)
+     * @param matrix Матрица
+     * @return 64-битный отпечаток
+     */
+    public static long fingerprint(DenseMatrix matrix) {
+        int n = matrix.getRank();
+        float[] row = new float[n];
+        long h = n;
+        for (int i = 0; i < n; i++) {
+            matrix.getRow(i, row, 0);
+            h = hash(h, row, n);
+        }
+        return mix(h);
+    }
+
+    /**
+     * Отпечаток плотной матрицы, заданной массивом строк
+     * @param matrix Матрица
+     * @return 64-битный отпечаток (совпадает с отпечатком той же матрицы в DenseMatrix)
+     */
+    public static long fingerprint(float[][] matrix) {
+        long h = matrix.length;
+        for (float[] row : matrix) {
+            h = hash(h, row, row.length);
+        }
+        return mix(h);
+    }
+
+    /**
+     * Отпечаток разреженной матрицы (структура и значения)
+     * @param sparse Матрица
+     * @return 64-битный отпечаток
+     */
+    public static long fingerprint(SparseMatrix sparse) {
+        int n = sparse.getRank();
+        long h = ~(long) n;
+        for (int i = 0; i < n; i++) {
+            for (int k = sparse.rowStart[i]; k < sparse.rowStart[i + 1]; k++) {
+                long word = ((long) sparse.columns[k] << 32) | (Float.floatToIntBits(sparse.values[k]) & 0xffffffffL);
+                h = (h ^ mix(word)) * 0x9e3779b97f4a7c15L;
+            }
+            h = (h ^ mix(~(long) i)) * 0x9e3779b97f4a7c15L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * Отпечаток матрицы коэффициентов решателя в любом представлении
+     * @param input Решатель
+     * @return 64-битный отпечаток
+     */
+    static long fingerprint(AbstractSolver input) {
+        if (input.sparse != null) {
+            return fingerprint(input.sparse);
+        }
+        return input.coeff != null ? fingerprint(input.coeff) : fingerprint(input.matrix);
+    }
+
+    /**
+     * Копирование матрицы коэффициентов решателя для хранения в кэше
+     * (изменение исходной матрицы вызывающим кодом не затрагивает запись)
+     * @param input Решатель
+     * @param freeCoeff Вектор свободных членов
+     * @return Система с копией матрицы
+     */
+    static LinearSystem copy(AbstractSolver input, float[] freeCoeff) {
+        SparseMatrix sparse = input.sparse;
+        if (sparse != null) {
+            return new LinearSystem(new SparseMatrix(sparse.getRank(), sparse.rowStart.clone(),
+                    sparse.columns.clone(), sparse.values.clone()), freeCoeff);
+        }
+        int n = input.getRank();
+        DenseMatrix matrix = DenseMatrix.allocate(n);
+        float[] row = new float[n];
+        for (int i = 0; i < n; i++) {
+            input.copyRow(i, row, 0);
+            matrix.setRow(i, row);
+        }
+        return new LinearSystem(matrix, freeCoeff);
+    }
+
+    /**
+     * Поэлементное сравнение разреженных матриц (структура и значения)
+     * @param a Первая матрица
+     * @param b Вторая матрица
+     * @return true, если матрицы совпадают
+     */
+    static boolean equals(SparseMatrix a, SparseMatrix b) {
+        return a.getRank() == b.getRank() && Arrays.equals(a.rowStart, b.rowStart)
+                && Arrays.equals(a.columns, b.columns) && Arrays.equals(a.values, b.values);
+    }
+}
@@ -0,0 +1,18 @@
+package com.codebind;
+
+/**
+ * Получатель статистики решений (например, для передачи в систему метрик).
+ * Регистрируется методом SolverStatistics.addListener и вызывается после каждого решения,
+ * выполненного через AbstractSolver.solveWithStatistics(), в потоке, выполнявшем решение.
+ * @autor Epishov
+ * @version 1.0
+ */
+public interface SolverListener {
+
+    /**
+     * Обработка статистики завершившегося решения
+     * @param solver Решатель
+     * @param statistics Статистика решения
+     */
+    void solved(AbstractSolver solver, SolverStatistics statistics);
+}
@@ -0,0 +1,37 @@
+package com.codebind;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Общие пулы потоков параллельных методов - по одному на уровень параллелизма.
+ * Решатели создаются на каждую систему, поэтому собственный пул у каждого решателя означал бы
+ * запуск потоков при каждом решении; общий пул создаётся один раз и используется всеми решателями
+ * (в том числе из нескольких потоков пакетного режима одновременно).
+ * Рабочие потоки пулов - демоны и завершаются при простое, поэтому пулы не требуют закрытия.
+ * @autor Epishov
+ * @version 1.0
+ */
+final class SolverPools {
+
+    /**
+     * Пулы по уровню параллелизма
+     */
+    private static final ConcurrentMap<Integer, ForkJoinPool> pools = new ConcurrentHashMap<>();
+
+    private SolverPools() {
+    }
+
+    /**
+     * Получение общего пула потоков
+     * @param parallelism Количество рабочих потоков
+     * @return Пул потоков или null, если parallelism не больше 1 (последовательное выполнение)
+     */
+    static ForkJoinPool get(int parallelism) {
+        if (parallelism <= 1) {
+            return null;
+        }
+        return pools.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+}
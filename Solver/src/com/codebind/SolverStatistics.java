@@ -0,0 +1,437 @@
+package com.codebind;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Статистика одного решения СЛАУ: время по этапам, количество итераций, причина окончания,
+ * относительная невязка найденного решения, объём выделенной памяти и (по запросу) история нормы по итерациям.
+ * Собирается методом AbstractSolver.solveWithStatistics(); этапы отмечаются решателями вызовом phase(...).
+ * После решения статистика передаётся зарегистрированным SolverListener и записывается событием JFR (SolveEvent).
+ * @autor Epishov
+ * @version 1.0
+ */
+public class SolverStatistics {
+
+    /**
+     * Этап по умолчанию: время, не отнесённое решателем к другим этапам
+     */
+    public static final String SOLVE = "решение";
+
+    /**
+     * Подготовка: копирование и анализ матрицы, построение предобусловливателя
+     */
+    public static final String SETUP = "подготовка";
+
+    /**
+     * Разложение матрицы (прямой ход)
+     */
+    public static final String FACTORIZATION = "разложение";
+
+    /**
+     * Прямая и обратная подстановка по разложению
+     */
+    public static final String SUBSTITUTION = "подстановка";
+
+    /**
+     * Итерации итерационного метода
+     */
+    public static final String ITERATIONS = "итерации";
+
+    /**
+     * Зарегистрированные получатели статистики
+     */
+    private static final List<SolverListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Источник счётчика памяти, выделенной потоком (null, если JVM его не предоставляет)
+     */
+    private static final com.sun.management.ThreadMXBean threads = threads();
+
+    /**
+     * Название метода решения
+     */
+    private final String method;
+
+    /**
+     * Размерность системы
+     */
+    private final int rank;
+
+    /**
+     * Время этапов в наносекундах в порядке их начала
+     */
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    /**
+     * Текущий этап
+     */
+    private String phase = SOLVE;
+
+    /**
+     * Начало текущего этапа (System.nanoTime())
+     */
+    private long phaseStart;
+
+    /**
+     * Начало решения (System.nanoTime())
+     */
+    private long start;
+
+    /**
+     * Общее время решения в наносекундах
+     */
+    private long time;
+
+    /**
+     * Показание счётчика выделенной памяти в начале решения
+     */
+    private long allocationStart;
+
+    /**
+     * Объём памяти, выделенной потоком решения, в байтах (-1 - счётчик недоступен)
+     */
+    private long allocatedBytes = -1;
+
+    /**
+     * Признак выполняющегося решения
+     */
+    private boolean running;
+
+    /**
+     * Признак того, что решатель отметил хотя бы один этап
+     */
+    private boolean marked;
+
+    /**
+     * Событие JFR, начатое вместе с решением
+     */
+    private SolveEvent event;
+
+    /**
+     * Количество итераций (0 для прямых методов)
+     */
+    int iterations;
+
+    /**
+     * Причина окончания решения
+     */
+    ConvergenceMonitor.Status status;
+
+    /**
+     * История нормы по итерациям (null, если не запрашивалась)
+     */
+    double[] trace;
+
+    /**
+     * Название метода, нашедшего решение (для решателей, выбирающих метод)
+     */
+    String selected;
+
+    /**
+     * Относительная невязка найденного решения
+     */
+    private double residual = Double.NaN;
+
+    /**
+     * Найденное решение
+     */
+    private float[] solution;
+
+    /**
+     * Конструктор класса
+     * @param solver Решатель
+     */
+    SolverStatistics(AbstractSolver solver) {
+        method = solver.getClass().getSimpleName();
+        rank = solver.getRank();
+    }
+
+    /**
+     * Регистрация получателя статистики всех последующих решений
+     * @param listener Получатель
+     */
+    public static void addListener(SolverListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Отмена регистрации получателя статистики
+     * @param listener Получатель
+     */
+    public static void removeListener(SolverListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Получение счётчика памяти, выделенной потоком (расширение HotSpot com.sun.management)
+     * @return Интерфейс счётчика или null, если он не поддерживается
+     */
+    private static com.sun.management.ThreadMXBean threads() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Показание счётчика памяти, выделенной текущим потоком
+     * @return Количество байт или -1, если счётчик недоступен или отключён
+     */
+    private static long allocated() {
+        return threads != null && threads.isThreadAllocatedMemoryEnabled() ? threads.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Начало решения
+     */
+    void start() {
+        event = new SolveEvent();
+        event.begin();
+        running = true;
+        allocationStart = allocated();
+        start = System.nanoTime();
+        phaseStart = start;
+    }
+
+    /**
+     * Переход к следующему этапу: время с начала текущего этапа добавляется к нему.
+     * Время до первой отметки относится к первому отмеченному этапу.
+     * @param name Название начинающегося этапа (повторные этапы с тем же названием суммируются)
+     */
+    void phase(String name) {
+        if (!running) {
+            return;
+        }
+        if (!marked) {
+            marked = true;
+            phase = name;
+            return;
+        }
+        long now = System.nanoTime();
+        close(now);
+        phase = name;
+        phaseStart = now;
+    }
+
+    /**
+     * Учёт времени текущего этапа
+     * @param now Текущее время (System.nanoTime())
+     */
+    private void close(long now) {
+        long elapsed = now - phaseStart;
+        if (elapsed > 0) {
+            phases.merge(phase, elapsed, Long::sum);
+        }
+    }
+
+    /**
+     * Окончание решения: фиксация времени и выделенной памяти
+     * @param solution Найденное решение или null
+     */
+    void stop(float[] solution) {
+        long now = System.nanoTime();
+        event.end();
+        close(now);
+        time = now - start;
+        long allocation = allocated();
+        if (allocationStart >= 0 && allocation >= 0) {
+            allocatedBytes = allocation - allocationStart;
+        }
+        running = false;
+        this.solution = solution;
+    }
+
+    /**
+     * Дополнение статистики сведениями решателя (итерации, причина окончания)
+     * @param solver Решатель
+     */
+    void complete(AbstractSolver solver) {
+        if (solver.isCancelled()) {
+            status = ConvergenceMonitor.Status.CANCELLED;
+        } else {
+            status = solution != null ? ConvergenceMonitor.Status.CONVERGED : ConvergenceMonitor.Status.BREAKDOWN;
+        }
+        solver.collect(this);
+    }
+
+    /**
+     * Вычисление невязки и публикация статистики (событие JFR и получатели)
+     * @param solver Решатель
+     */
+    void publish(AbstractSolver solver) {
+        if (solution != null) {
+            residual = solver.relativeResidual(solution);
+        }
+        if (event.shouldCommit()) {
+            event.method = getMethod();
+            event.rank = rank;
+            event.iterations = iterations;
+            event.status = status.name();
+            event.residual = residual;
+            event.allocated = allocatedBytes;
+            event.setup = getPhaseTime(SETUP);
+            event.factorization = getPhaseTime(FACTORIZATION);
+            event.substitution = getPhaseTime(SUBSTITUTION);
+            event.iteration = getPhaseTime(ITERATIONS);
+            event.commit();
+        }
+        event = null;
+        for (SolverListener listener : listeners) {
+            listener.solved(solver, this);
+        }
+    }
+
+    /**
+     * Проверка, выполняется ли решение
+     * @return true между началом и окончанием решения
+     */
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Получение названия метода решения
+     * @return Имя класса решателя (для AutoSolver - с именем выбранного метода)
+     */
+    public String getMethod() {
+        return selected == null ? method : method + "/" + selected;
+    }
+
+    /**
+     * Получение размерности системы
+     * @return Количество неизвестных
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Получение общего времени решения
+     * @return Время в наносекундах
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Получение времени этапа решения
+     * @param name Название этапа (SETUP, FACTORIZATION, SUBSTITUTION, ITERATIONS, SOLVE)
+     * @return Время в наносекундах (0, если этап не выполнялся)
+     */
+    public long getPhaseTime(String name) {
+        return phases.getOrDefault(name, 0L);
+    }
+
+    /**
+     * Получение времени всех выполнявшихся этапов
+     * @return Время этапов в наносекундах в порядке их начала
+     */
+    public Map<String, Long> getPhases() {
+        return Collections.unmodifiableMap(phases);
+    }
+
+    /**
+     * Получение количества итераций
+     * @return Количество итераций (0 для прямых методов)
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Получение причины окончания решения.
+     * Для прямых методов: CONVERGED - решение найдено, BREAKDOWN - матрица вырождена, CANCELLED - решение отменено.
+     * @return Причина окончания
+     */
+    public ConvergenceMonitor.Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Получение относительной невязки найденного решения ||b - A·x|| / ||b|| (максимум-норма).
+     * Вычисляется после решения и не входит в его время.
+     * @return Значение невязки или NaN, если решение не найдено
+     */
+    public double getResidual() {
+        return residual;
+    }
+
+    /**
+     * Получение объёма памяти, выделенной при решении потоком, вызвавшим решатель
+     * (память, выделенная рабочими потоками параллельных методов, не учитывается)
+     * @return Количество байт или -1, если счётчик JVM недоступен
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Получение истории нормы по итерациям (поправки или невязки - в зависимости от метода,
+     * см. ConvergenceMonitor.getNorm()). Собирается, если включено monitor.trace итерационного решателя.
+     * @return Значения нормы по итерациям или null
+     */
+    public double[] getTrace() {
+        return trace;
+    }
+
+    /**
+     * Получение найденного решения
+     * @return Вектор решения или null, если решение не найдено
+     */
+    public float[] getSolution() {
+        return solution;
+    }
+
+    /**
+     * Текстовое представление статистики
+     * @return Строка вида "GaussSolver: n = 100, 1.25 мс (разложение 1.10 мс, подстановка 0.05 мс), CONVERGED, ..."
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(getMethod()).append(": n = ").append(rank)
+                .append(", ").append(milliseconds(time));
+        if (!phases.isEmpty()) {
+            text.append(" (");
+            boolean first = true;
+            for (Map.Entry<String, Long> entry : phases.entrySet()) {
+                if (!first) {
+                    text.append(", ");
+                }
+                first = false;
+                text.append(entry.getKey()).append(' ').append(milliseconds(entry.getValue()));
+            }
+            text.append(")");
+        }
+        if (iterations > 0) {
+            text.append(", итераций ").append(iterations);
+        }
+        text.append(", ").append(status);
+        if (!Double.isNaN(residual)) {
+            text.append(String.format(Locale.ROOT, ", невязка %.2e", residual));
+        }
+        if (allocatedBytes >= 0) {
+            text.append(", выделено ").append(allocatedBytes / 1024).append(" КБ");
+        }
+        return text.toString();
+    }
+
+    /**
+     * Форматирование времени
+     * @param nanos Время в наносекундах
+     * @return Время в миллисекундах с двумя знаками после запятой
+     */
+    private static String milliseconds(long nanos) {
+        return String.format(Locale.ROOT, "%.2f мс", nanos / 1e6);
+    }
+}
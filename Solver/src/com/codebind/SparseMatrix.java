@@ -0,0 +1,193 @@
+package com.codebind;
+
+/**
+ * Разреженная квадратная матрица в формате CSR (сжатое хранение строк).
+ * Ненулевые элементы строки i хранятся в values[rowStart[i] .. rowStart[i + 1]),
+ * их номера столбцов - в columns с теми же индексами.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class SparseMatrix {
+
+    /**
+     * Размерность матрицы
+     */
+    private final int rank;
+
+    /**
+     * Начала строк в массивах values и columns (длина rank + 1)
+     */
+    final int[] rowStart;
+
+    /**
+     * Номера столбцов ненулевых элементов
+     */
+    final int[] columns;
+
+    /**
+     * Значения ненулевых элементов
+     */
+    final float[] values;
+
+    /**
+     * Индексы диагональных элементов в массиве values (-1, если диагональный элемент не хранится)
+     */
+    final int[] diagonal;
+
+    /**
+     * Конструктор класса. Массивы не копируются.
+     * @param rank Размерность матрицы
+     * @param rowStart Начала строк в массивах values и columns (длина rank + 1)
+     * @param columns Номера столбцов ненулевых элементов
+     * @param values Значения ненулевых элементов
+     */
+    public SparseMatrix(int rank, int[] rowStart, int[] columns, float[] values) {
+        if (rowStart.length != rank + 1 || columns.length != values.length || rowStart[rank] != values.length) {
+            throw new IllegalArgumentException("Некорректная структура CSR-матрицы.");
+        }
+        this.rank = rank;
+        this.rowStart = rowStart;
+        this.columns = columns;
+        this.values = values;
+        this.diagonal = new int[rank];
+        for (int i = 0; i < rank; i++) {
+            diagonal[i] = -1;
+            for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+                if (columns[k] == i) {
+                    diagonal[i] = k;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Построение разреженной матрицы по плотной (нулевые элементы не сохраняются)
+     * @param matrix Плотная квадратная матрица
+     * @return Разреженная матрица
+     */
+    public static SparseMatrix fromDense(float[][] matrix) {
+        int n = matrix.length;
+        int[] rowStart = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int count = 0;
+            for (int j = 0; j < n; j++) {
+                if (matrix[i][j] != 0)
+                    count++;
+            }
+            rowStart[i + 1] = rowStart[i] + count;
+        }
+        int[] columns = new int[rowStart[n]];
+        float[] values = new float[rowStart[n]];
+        for (int i = 0, k = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (matrix[i][j] != 0) {
+                    columns[k] = j;
+                    values[k++] = matrix[i][j];
+                }
+            }
+        }
+        return new SparseMatrix(n, rowStart, columns, values);
+    }
+
+    /**
+     * Построение разреженной матрицы по плотной в непрерывном хранилище (нулевые элементы не сохраняются)
+     * @param matrix Плотная квадратная матрица
+     * @return Разреженная матрица
+     */
+    public static SparseMatrix fromDense(DenseMatrix matrix) {
+        int n = matrix.getRank();
+        float[] row = new float[n];
+        int[] rowStart = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            matrix.getRow(i, row, 0);
+            int count = 0;
+            for (int j = 0; j < n; j++) {
+                if (row[j] != 0)
+                    count++;
+            }
+            rowStart[i + 1] = rowStart[i] + count;
+        }
+        int[] columns = new int[rowStart[n]];
+        float[] values = new float[rowStart[n]];
+        for (int i = 0, k = 0; i < n; i++) {
+            matrix.getRow(i, row, 0);
+            for (int j = 0; j < n; j++) {
+                if (row[j] != 0) {
+                    columns[k] = j;
+                    values[k++] = row[j];
+                }
+            }
+        }
+        return new SparseMatrix(n, rowStart, columns, values);
+    }
+
+    /**
+     * Получение размерности матрицы
+     * @return Количество строк (столбцов) матрицы
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Получение количества хранимых (ненулевых) элементов
+     * @return Количество ненулевых элементов
+     */
+    public int getNonZeroCount() {
+        return values.length;
+    }
+
+    /**
+     * Получение элемента матрицы за O(количество ненулевых элементов строки)
+     * @param row Номер строки
+     * @param column Номер столбца
+     * @return Значение элемента
+     */
+    public float get(int row, int column) {
+        for (int k = rowStart[row]; k < rowStart[row + 1]; k++) {
+            if (columns[k] == column)
+                return values[k];
+        }
+        return 0;
+    }
+
+    /**
+     * Получение диагонального элемента
+     * @param row Номер строки
+     * @return Значение диагонального элемента
+     */
+    public float getDiagonal(int row) {
+        int k = diagonal[row];
+        return k < 0 ? 0 : values[k];
+    }
+
+    /**
+     * Умножение матрицы на вектор y = A·x за O(nnz)
+     * @param x Умножаемый вектор
+     * @param y Вектор для записи результата
+     */
+    public void multiply(float[] x, float[] y) {
+        for (int i = 0; i < rank; i++) {
+            float sum = 0;
+            for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+                sum += values[k] * x[columns[k]];
+            }
+            y[i] = sum;
+        }
+    }
+
+    /**
+     * Преобразование в плотную матрицу
+     * @return Плотная квадратная матрица
+     */
+    public float[][] toDense() {
+        float[][] result = new float[rank][rank];
+        for (int i = 0; i < rank; i++) {
+            for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+                result[i][columns[k]] += values[k];
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,284 @@
+package com.codebind;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Потоковое чтение систем уравнений из текстового файла.
+ * Формат: для каждой системы - количество неизвестных n, затем n строк по n + 1 чисел
+ * (коэффициенты и свободный член). Разделители - пробельные символы и ';',
+ * от '#' до конца строки - комментарий. Числа разбираются прямо из байтового буфера без создания строк.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class SystemReader implements Closeable {
+
+    /**
+     * Размер буфера чтения, байт
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Степени десяти, точно представимые во float
+     */
+    private static final float[] POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+    /**
+     * Источник данных
+     */
+    private final InputStream input;
+
+    /**
+     * Буфер чтения
+     */
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * Количество данных в буфере
+     */
+    private int length;
+
+    /**
+     * Текущая позиция в буфере
+     */
+    private int position;
+
+    /**
+     * Текущий номер строки (для сообщений об ошибках)
+     */
+    private int line = 1;
+
+    /**
+     * Буфер текущего числа (число может оказаться на границе двух блоков чтения)
+     */
+    private final byte[] token = new byte[64];
+
+    /**
+     * Конструктор класса
+     * @param input Источник данных
+     */
+    public SystemReader(InputStream input) {
+        this.input = input;
+    }
+
+    /**
+     * Чтение следующей системы
+     * @return Система уравнений или null, если данные закончились
+     * @throws IOException при ошибке чтения или нарушении формата
+     */
+    public LinearSystem read() throws IOException {
+        int size = nextToken();
+        if (size < 0) {
+            return null;
+        }
+        float value = parse(size);
+        int n = (int) value;
+        if (n != value || n <= 0) {
+            throw new IOException("Строка " + line + ": некорректное количество неизвестных '" + new String(token, 0, size) + "'.");
+        }
+        //Коэффициенты записываются сразу в непрерывный массив матрицы;
+        //матрица больше предела массива Java (n > 46340) хранится вне кучи (BufferMatrix) и заполняется по строкам
+        DenseMatrix matrix;
+        try {
+            matrix = DenseMatrix.allocate(n);
+        } catch (OutOfMemoryError ex) {
+            throw new IOException("Строка " + line + ": недостаточно памяти для матрицы " + n + "×" + n + ".");
+        }
+        float[] freeCoeff = new float[n];
+        if (matrix instanceof ArrayMatrix) {
+            float[] values = ((ArrayMatrix) matrix).values;
+            for (int i = 0, k = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    values[k++] = nextFloat();
+                }
+                freeCoeff[i] = nextFloat();
+            }
+        } else {
+            float[] row = new float[n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    row[j] = nextFloat();
+                }
+                matrix.setRow(i, row);
+                freeCoeff[i] = nextFloat();
+            }
+        }
+        return new LinearSystem(matrix, freeCoeff);
+    }
+
+    /**
+     * Чтение очередного числа, обязательного по формату
+     * @return Значение числа
+     * @throws IOException при ошибке чтения или конце данных
+     */
+    private float nextFloat() throws IOException {
+        int size = nextToken();
+        if (size < 0) {
+            throw new EOFException("Строка " + line + ": неожиданный конец данных внутри системы.");
+        }
+        return parse(size);
+    }
+
+    /**
+     * Копирование следующего числа в буфер token
+     * @return Длина числа или -1, если данные закончились
+     * @throws IOException при ошибке чтения
+     */
+    private int nextToken() throws IOException {
+        int c = skipSeparators();
+        if (c < 0) {
+            return -1;
+        }
+        int size = 0;
+        while (c >= 0 && !isSeparator(c)) {
+            if (size == token.length) {
+                throw new IOException("Строка " + line + ": слишком длинное число.");
+            }
+            token[size++] = (byte) c;
+            c = nextByte();
+        }
+        //Разделитель остаётся в буфере, чтобы номер строки учитывался при пропуске разделителей
+        if (c >= 0) {
+            position--;
+        }
+        return size;
+    }
+
+    /**
+     * Пропуск разделителей и комментариев
+     * @return Первый байт числа или -1, если данные закончились
+     * @throws IOException при ошибке чтения
+     */
+    private int skipSeparators() throws IOException {
+        while (true) {
+            int c = nextByte();
+            if (c < 0) {
+                return -1;
+            }
+            if (c == '\n') {
+                line++;
+            } else if (c == '#') {
+                do {
+                    c = nextByte();
+                } while (c >= 0 && c != '\n');
+                line++;
+            } else if (!isSeparator(c)) {
+                return c;
+            }
+        }
+    }
+
+    /**
+     * Проверка, является ли байт разделителем чисел
+     * @param c Байт
+     * @return true для пробельных символов, ';' и начала комментария
+     */
+    private static boolean isSeparator(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == ';' || c == '#';
+    }
+
+    /**
+     * Чтение очередного байта
+     * @return Байт или -1, если данные закончились
+     * @throws IOException при ошибке чтения
+     */
+    private int nextByte() throws IOException {
+        if (position == length) {
+            length = input.read(buffer, 0, buffer.length);
+            position = 0;
+            if (length <= 0) {
+                length = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * Разбор числа из буфера token.
+     * Числа вида [-]цифры[.цифры][e[-]цифры] с мантиссой до 2²⁴ и порядком до 10 по модулю
+     * вычисляются одним умножением или делением точных float, что даёт правильно округлённый результат;
+     * остальные записи (и десятичная запятая) передаются Float.parseFloat.
+     * @param size Длина числа
+     * @return Значение числа
+     * @throws IOException если запись не является числом
+     */
+    private float parse(int size) throws IOException {
+        int i = 0;
+        boolean negative = false;
+        if (token[0] == '-' || token[0] == '+') {
+            negative = token[0] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        int digits = 0;
+        for (; i < size && token[i] >= '0' && token[i] <= '9'; i++, digits++) {
+            mantissa = mantissa * 10 + (token[i] - '0');
+            if (mantissa > 1 << 24) {
+                return parseSlow(size);
+            }
+        }
+        if (i < size && token[i] == '.') {
+            for (i++; i < size && token[i] >= '0' && token[i] <= '9'; i++, digits++) {
+                mantissa = mantissa * 10 + (token[i] - '0');
+                exponent--;
+                if (mantissa > 1 << 24) {
+                    return parseSlow(size);
+                }
+            }
+        }
+        if (digits == 0) {
+            return parseSlow(size);
+        }
+        if (i < size && (token[i] == 'e' || token[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < size && (token[i] == '-' || token[i] == '+')) {
+                negativeExponent = token[i] == '-';
+                i++;
+            }
+            int value = 0;
+            int start = i;
+            for (; i < size && token[i] >= '0' && token[i] <= '9' && value < 1000; i++) {
+                value = value * 10 + (token[i] - '0');
+            }
+            if (i == start) {
+                return parseSlow(size);
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (i != size || exponent < -10 || exponent > 10) {
+            return parseSlow(size);
+        }
+        float result = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+        return negative ? -result : result;
+    }
+
+    /**
+     * Разбор числа стандартными средствами
+     * @param size Длина числа
+     * @return Значение числа
+     * @throws IOException если запись не является числом
+     */
+    private float parseSlow(int size) throws IOException {
+        String value = new String(token, 0, size, StandardCharsets.US_ASCII);
+        try {
+            return Float.parseFloat(value.replace(',', '.'));
+        } catch (NumberFormatException ex) {
+            throw new IOException("Строка " + line + ": значение '" + value + "' не является числом.");
+        }
+    }
+
+    /**
+     * Закрытие источника данных
+     * @throws IOException при ошибке закрытия
+     */
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
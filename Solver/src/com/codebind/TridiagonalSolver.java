@@ -0,0 +1,262 @@
+package com.codebind;
+
+/**
+ * Класс решения СЛАУ с трёхдиагональной матрицей методом прогонки (алгоритм Томаса).
+ * Матрица хранится тремя диагоналями, время и память решения O(n).
+ * Прогонка без перестановок устойчива при диагональном преобладании; для остальных матриц
+ * (или при нулевом знаменателе прогонки) используется ленточное LU-разложение с выбором ведущего элемента.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class TridiagonalSolver extends AbstractSolver {
+
+    /**
+     * Поддиагональ: lower[i] = a_i,i-1 (lower[0] не используется)
+     */
+    private final float[] lower;
+
+    /**
+     * Главная диагональ: diagonal[i] = a_ii
+     */
+    private final float[] diagonal;
+
+    /**
+     * Наддиагональ: upper[i] = a_i,i+1 (upper[n - 1] не используется)
+     */
+    private final float[] upper;
+
+    /**
+     * Признак диагонального преобладания, при котором прогонка устойчива
+     */
+    private final boolean dominant;
+
+    /**
+     * Ленточный решатель для матриц без диагонального преобладания (создаётся при необходимости)
+     */
+    private BandedSolver banded;
+
+    /**
+     * Конструктор класса для матрицы, заданной диагоналями
+     * @param lower Поддиагональ: lower[i] = a_i,i-1 (lower[0] не используется)
+     * @param diagonal Главная диагональ
+     * @param upper Наддиагональ: upper[i] = a_i,i+1 (upper[n - 1] не используется)
+     * @param freeCoeff Вектор свободных членов
+     * @throws IllegalArgumentException если длины диагоналей не равны размерности
+     */
+    public TridiagonalSolver(float[] lower, float[] diagonal, float[] upper, float[] freeCoeff) {
+        super((float[][]) null, freeCoeff);
+        int n = freeCoeff.length;
+        if (lower.length != n || diagonal.length != n || upper.length != n) {
+            throw new IllegalArgumentException("Длины диагоналей не соответствуют размерности системы.");
+        }
+        this.lower = lower;
+        this.diagonal = diagonal;
+        this.upper = upper;
+        this.dominant = isDominant();
+    }
+
+    /**
+     * Конструктор класса
+     * @param coeff Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     * @throws IllegalArgumentException если матрица не трёхдиагональная
+     */
+    public TridiagonalSolver(float[][] coeff, float[] freeCoeff) {
+        super(coeff, freeCoeff);
+        check(new MatrixAnalysis(coeff));
+        int n = coeff.length;
+        lower = new float[n];
+        diagonal = new float[n];
+        upper = new float[n];
+        for (int i = 0; i < n; i++) {
+            lower[i] = i > 0 ? coeff[i][i - 1] : 0;
+            diagonal[i] = coeff[i][i];
+            upper[i] = i < n - 1 ? coeff[i][i + 1] : 0;
+        }
+        dominant = isDominant();
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     * @throws IllegalArgumentException если матрица не трёхдиагональная
+     */
+    public TridiagonalSolver(DenseMatrix matrix, float[] freeCoeff) {
+        this(matrix, freeCoeff, new MatrixAnalysis(matrix));
+    }
+
+    /**
+     * Конструктор класса по готовому результату анализа матрицы
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     * @param analysis Результат анализа матрицы (ширина ленты)
+     * @throws IllegalArgumentException если матрица не трёхдиагональная
+     */
+    TridiagonalSolver(DenseMatrix matrix, float[] freeCoeff, MatrixAnalysis analysis) {
+        super(matrix, freeCoeff);
+        check(analysis);
+        int n = matrix.getRank();
+        lower = new float[n];
+        diagonal = new float[n];
+        upper = new float[n];
+        for (int i = 0; i < n; i++) {
+            lower[i] = i > 0 ? matrix.get(i, i - 1) : 0;
+            diagonal[i] = matrix.get(i, i);
+            upper[i] = i < n - 1 ? matrix.get(i, i + 1) : 0;
+        }
+        dominant = isDominant();
+    }
+
+    /**
+     * Конструктор класса для разреженной матрицы коэффициентов
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     * @throws IllegalArgumentException если матрица не трёхдиагональная
+     */
+    public TridiagonalSolver(SparseMatrix sparse, float[] freeCoeff) {
+        super(sparse, freeCoeff);
+        int n = sparse.getRank();
+        lower = new float[n];
+        diagonal = new float[n];
+        upper = new float[n];
+        for (int i = 0; i < n; i++) {
+            for (int k = sparse.rowStart[i]; k < sparse.rowStart[i + 1]; k++) {
+                int j = sparse.columns[k];
+                if (j == i - 1) {
+                    lower[i] += sparse.values[k];
+                } else if (j == i) {
+                    diagonal[i] += sparse.values[k];
+                } else if (j == i + 1) {
+                    upper[i] += sparse.values[k];
+                } else if (sparse.values[k] != 0) {
+                    throw new IllegalArgumentException("Матрица не является трёхдиагональной.");
+                }
+            }
+        }
+        dominant = isDominant();
+    }
+
+    /**
+     * Проверка, что ненулевые элементы лежат на трёх центральных диагоналях
+     * @param analysis Результат анализа матрицы
+     * @throws IllegalArgumentException если матрица не трёхдиагональная
+     */
+    private static void check(MatrixAnalysis analysis) {
+        if (analysis.getLowerBandwidth() > 1 || analysis.getUpperBandwidth() > 1) {
+            throw new IllegalArgumentException("Матрица не является трёхдиагональной.");
+        }
+    }
+
+    /**
+     * Проверка нестрогого диагонального преобладания по строкам
+     * @return true, если |a_ii| >= |a_i,i-1| + |a_i,i+1| для всех строк
+     */
+    private boolean isDominant() {
+        int n = diagonal.length;
+        for (int i = 0; i < n; i++) {
+            float offDiagonal = (i > 0 ? Math.abs(lower[i]) : 0) + (i < n - 1 ? Math.abs(upper[i]) : 0);
+            if (!(Math.abs(diagonal[i]) >= offDiagonal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getRank() {
+        return diagonal.length;
+    }
+
+    /**
+     * Поиск решения СЛАУ методом прогонки
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если матрица вырождена
+     */
+    @Override
+    public float[] solve() {
+        if (isCancelled()) {
+            return null;
+        }
+        if (!dominant) {
+            return getBanded().solve(freeCoeff);
+        }
+        int n = diagonal.length;
+        float[] b = freeCoeff;
+        float[] c = new float[n]; //Прогоночные коэффициенты
+        float[] x = new float[n];
+        float denominator = diagonal[0];
+        if (denominator == 0) {
+            return getBanded().solve(freeCoeff);
+        }
+        //Прямой ход: x_i = d'_i - c'_i·x_i+1
+        c[0] = n > 1 ? upper[0] / denominator : 0;
+        x[0] = b[0] / denominator;
+        for (int i = 1; i < n; i++) {
+            denominator = diagonal[i] - lower[i] * c[i - 1];
+            if (denominator == 0) {
+                return getBanded().solve(freeCoeff);
+            }
+            c[i] = i < n - 1 ? upper[i] / denominator : 0;
+            x[i] = (b[i] - lower[i] * x[i - 1]) / denominator;
+        }
+        //Обратный ход
+        for (int i = n - 2; i >= 0; i--) {
+            x[i] -= c[i] * x[i + 1];
+        }
+        return x;
+    }
+
+    /**
+     * Вычисление относительной невязки по трём диагоналям за O(n)
+     * @param x Приближённое решение
+     * @return Относительная невязка ||b - A·x|| / ||b|| (максимум-норма)
+     */
+    @Override
+    protected double relativeResidual(float[] x) {
+        int n = diagonal.length;
+        double residual = 0;
+        double scale = 0;
+        for (int i = 0; i < n; i++) {
+            double sum = (double) diagonal[i] * x[i];
+            if (i > 0) {
+                sum += (double) lower[i] * x[i - 1];
+            }
+            if (i < n - 1) {
+                sum += (double) upper[i] * x[i + 1];
+            }
+            residual = Math.max(residual, Math.abs(freeCoeff[i] - sum));
+            scale = Math.max(scale, Math.abs(freeCoeff[i]));
+        }
+        return scale == 0 ? residual : residual / scale;
+    }
+
+    /**
+     * Ленточный решатель с выбором ведущего элемента для той же матрицы
+     * @return Решатель с шириной ленты 1 + 1
+     */
+    private BandedSolver getBanded() {
+        if (banded == null) {
+            int n = diagonal.length;
+            float[] band = new float[3 * n];
+            for (int i = 0; i < n; i++) {
+                band[3 * i] = i > 0 ? lower[i] : 0;
+                band[3 * i + 1] = diagonal[i];
+                band[3 * i + 2] = i < n - 1 ? upper[i] : 0;
+            }
+            banded = new BandedSolver(1, 1, band, freeCoeff);
+        }
+        return banded;
+    }
+
+    /**
+     * Запрос на отмену решения, в том числе ленточного решателя
+     */
+    @Override
+    public void cancel() {
+        super.cancel();
+        BandedSolver solver = banded;
+        if (solver != null) {
+            solver.cancel();
+        }
+    }
+}
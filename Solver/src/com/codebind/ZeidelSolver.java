@@ -7,6 +7,12 @@ package com.codebind;
  */
 public class ZeidelSolver extends IterationSolver {
 
+    /**
+     * Пересчёт неизвестных в многоцветном порядке: неизвестные одного цвета
+     * обновляются параллельно (см. parallelism)
+     */
+    public boolean multicolor;
+
     /**
      * Конструктор класса
      * @param coeff Матрица коэффициентов при неизвестных
@@ -17,51 +23,96 @@ public class ZeidelSolver extends IterationSolver {
     }
 
     /**
-     * Поиск решения СЛАУ
-     * @return Вектор со значениями найденных неизвестных - решение СЛАУ
+     * Конструктор класса для разреженной матрицы коэффициентов
+     * @param sparse Разреженная матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public ZeidelSolver(SparseMatrix sparse, float[] freeCoeff){
+        super(sparse, freeCoeff);
+    }
+
+    /**
+     * Конструктор класса для матрицы коэффициентов в непрерывном хранилище
+     * @param matrix Матрица коэффициентов при неизвестных
+     * @param freeCoeff Вектор свободных членов
+     */
+    public ZeidelSolver(DenseMatrix matrix, float[] freeCoeff){
+        super(matrix, freeCoeff);
+    }
+
+    /**
+     * Поиск решения СЛАУ.
+     * Новые значения записываются на место старых, норма поправки накапливается в том же проходе.
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ или null, если решение не найдено
      */
     @Override
     public float[] solve() {
-        float[][] a = coeff;
-        float[] b = freeCoeff;
+        phase(SolverStatistics.SETUP);
         int n = getRank();
-        float[] x = new float[n];
-        for (int i = 0; i < n; i++)
-            x[i] = 1;
-
-        float[] p = new float[n];
-        int m = 0;
-
-        do {
+        float[] x = warmStart();
+        if (x == null) {
+            x = new float[n];
             for (int i = 0; i < n; i++)
-                p[i] = x[i];
-            for (int i = 0; i < n; i++) {
-                float var = 0;
-                for (int j = 0; j < i; j++)
-                    var += (a[i][j] * x[j]);
-                for (int j = i + 1; j < n; j++)
-                    var += (a[i][j] * p[j]);
-                x[i] = (b[i] - var) / a[i][i];
-            }
-            m++;
-        } while (!converge(x, p, n) && m < maxIterations);
-
-        if (m == maxIterations) {
-            return null;
+                x[i] = 1;
         }
-        return x;
+        monitor.start(eps, maxIterations);
+        if (multicolor) {
+            return multicolorSolve(x);
+        }
+        DenseMatrix a = sparse == null ? getMatrix() : null;
+        phase(SolverStatistics.ITERATIONS);
+        double norm;
+        do {
+            norm = Math.sqrt(sweep(a, x));
+        } while (monitor.next(norm, x));
+        return result(x);
     }
 
     /**
-     * Проверка выполнения условия окончания итерационного алгоритма
-     * @return true, если итерационный алгоритм может быть завершен, иначе false
+     * Метод Зейделя в многоцветном порядке
+     * @param x Начальное приближение (обновляется на месте)
+     * @return Вектор со значениями найденных неизвестных - решение СЛАУ
      */
-    boolean converge(float[] xk, float[] xkp, int n)
-    {
+    float[] multicolorSolve(float[] x) {
+        MulticolorSweep sweep = multicolorSweep();
+        phase(SolverStatistics.ITERATIONS);
+        do {
+            sweep.sweep(x, 1);
+        } while (monitor.next(Math.sqrt(sweep.squaredDelta), x));
+        return result(x);
+    }
+
+    /**
+     * Шаг метода Зейделя. Элементы левее диагонали берутся с текущей итерации,
+     * правее - с предыдущей (они ещё не перезаписаны).
+     * @param a Плотная матрица коэффициентов (null для разреженной)
+     * @param x Текущее приближение (обновляется на месте)
+     * @return Сумма квадратов изменений неизвестных
+     */
+    double sweep(DenseMatrix a, float[] x) {
+        float[] b = freeCoeff;
+        int n = x.length;
         double norm = 0;
-        for (int i = 0; i < n; i++)
-            norm += (xk[i] - xkp[i]) * (xk[i] - xkp[i]);
-        return (Math.sqrt(norm) < eps);
+        for (int i = 0; i < n; i++) {
+            float var = 0;
+            float diagonal;
+            if (sparse != null) {
+                SparseMatrix s = sparse;
+                for (int k = s.rowStart[i]; k < s.rowStart[i + 1]; k++) {
+                    int j = s.columns[k];
+                    if (j != i)
+                        var += s.values[k] * x[j];
+                }
+                diagonal = s.getDiagonal(i);
+            } else {
+                var = a.dot(i, x, 0, i) + a.dot(i, x, i + 1, n);
+                diagonal = a.get(i, i);
+            }
+            float value = (b[i] - var) / diagonal;
+            float delta = value - x[i];
+            norm += (double) delta * delta;
+            x[i] = value;
+        }
+        return norm;
     }
-    
 }
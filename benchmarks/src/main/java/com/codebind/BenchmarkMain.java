@@ -0,0 +1,64 @@
+package com.codebind;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Запуск измерений. Принимает обычные аргументы JMH (например, "Direct -p n=100 -rf json")
+ * и всегда подключает профилировщик GC, выводящий скорость выделения памяти (gc.alloc.rate.norm - байт на решение).
+ * Если собраны векторные ядра (профиль vector), форкам JMH добавляется модуль jdk.incubator.vector.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class BenchmarkMain {
+
+    /**
+     * Входная точка
+     * @param args Аргументы командной строки JMH
+     * @throws RunnerException при ошибке выполнения измерений
+     */
+    public static void main(String[] args) throws RunnerException {
+        CommandLineOptions options;
+        try {
+            options = new CommandLineOptions(args);
+        } catch (CommandLineOptionException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(2);
+            return;
+        }
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(options).addProfiler(GCProfiler.class);
+        if (BenchmarkMain.class.getResource("VectorKernels.class") != null) {
+            builder.jvmArgsAppend("--add-modules", "jdk.incubator.vector");
+        }
+        new Runner(builder.build()).run();
+    }
+
+    /**
+     * Создание решателя по имени метода пакетного режима с заданным количеством потоков параллельных методов.
+     * Суффикс "-multicolor" (zeidel-multicolor, relaxation-multicolor) включает многоцветный порядок пересчёта.
+     * @param name Имя метода
+     * @param system Система уравнений
+     * @param parallelism Количество потоков (ParallelGaussSolver, параллельный метод Якоби, многоцветные методы)
+     * @return Решатель
+     */
+    static AbstractSolver createSolver(String name, LinearSystem system, int parallelism) {
+        boolean multicolor = name.endsWith("-multicolor");
+        AbstractSolver solver = BatchMain.createSolver(multicolor ? name.substring(0, name.indexOf('-')) : name, system);
+        if (solver instanceof ParallelGaussSolver) {
+            ((ParallelGaussSolver) solver).parallelism = parallelism;
+        } else if (solver instanceof IterationSolver) {
+            ((IterationSolver) solver).parallelism = parallelism;
+            if (solver instanceof ZeidelSolver) {
+                ((ZeidelSolver) solver).multicolor = multicolor;
+            } else if (solver instanceof RelaxationSolver) {
+                ((RelaxationSolver) solver).multicolor = multicolor;
+            }
+        }
+        return solver;
+    }
+}
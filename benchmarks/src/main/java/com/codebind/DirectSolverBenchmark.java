@@ -0,0 +1,71 @@
+package com.codebind;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Прямые методы на плотных матрицах всех видов.
+ * Размерность ограничена 1000: при n = 10 000 один прямой проход занимает минуты, а матрица - 400 МБ.
+ * @autor Epishov
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DirectSolverBenchmark {
+
+    /**
+     * Метод решения (имена как в пакетном режиме)
+     */
+    @Param({"gauss", "cholesky", "parallel-gauss", "mixed", "double-gauss", "kramer", "matrix", "banded", "auto"})
+    public String solver;
+
+    /**
+     * Вид матрицы
+     */
+    @Param({"DENSE", "DOMINANT", "SPD", "BANDED"})
+    public SystemGenerator.Kind kind;
+
+    /**
+     * Количество неизвестных
+     */
+    @Param({"3", "10", "100", "1000"})
+    public int n;
+
+    /**
+     * Решаемая система
+     */
+    private LinearSystem system;
+
+    /**
+     * Генерация системы
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        system = SystemGenerator.dense(kind, n);
+    }
+
+    /**
+     * Решение системы; решатель создаётся заново, чтобы не использовать сохранённое разложение
+     * @param counters Дополнительные показатели
+     * @return Решение (возвращается, чтобы вычисления не были удалены как неиспользуемые)
+     */
+    @Benchmark
+    public float[] solve(SolverCounters counters) {
+        AbstractSolver instance = BatchMain.createSolver(solver, system);
+        float[] result = instance.solve();
+        counters.record(instance, result);
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+package com.codebind;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Кривая ускорения параллельных методов по количеству потоков.
+ * Метод Гаусса и метод Якоби решают плотную систему с диагональным преобладанием,
+ * многоцветные методы Зейделя и релаксации - разреженную систему в 10 раз большей размерности:
+ * на разреженной матрице размерности n работы одного прохода недостаточно для разбиения между потоками.
+ * @autor Epishov
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelSolverBenchmark {
+
+    /**
+     * Метод решения (имена как в пакетном режиме; суффикс "-multicolor" - многоцветный порядок пересчёта)
+     */
+    @Param({"parallel-gauss", "jacobi", "zeidel-multicolor", "relaxation-multicolor"})
+    public String solver;
+
+    /**
+     * Количество неизвестных плотной системы
+     */
+    @Param({"500", "1000"})
+    public int n;
+
+    /**
+     * Количество потоков
+     */
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    /**
+     * Решаемая система
+     */
+    private LinearSystem system;
+
+    /**
+     * Генерация системы
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        system = solver.endsWith("-multicolor")
+                ? SystemGenerator.sparse(SystemGenerator.Kind.SPARSE, 10 * n)
+                : SystemGenerator.dense(SystemGenerator.Kind.DOMINANT, n);
+    }
+
+    /**
+     * Решение системы; решатель создаётся заново, пулы потоков общие (SolverPools)
+     * @param counters Дополнительные показатели
+     * @return Решение (возвращается, чтобы вычисления не были удалены как неиспользуемые)
+     */
+    @Benchmark
+    public float[] solve(SolverCounters counters) {
+        AbstractSolver instance = BenchmarkMain.createSolver(solver, system, parallelism);
+        float[] result = instance.solve();
+        counters.record(instance, result);
+        return result;
+    }
+}
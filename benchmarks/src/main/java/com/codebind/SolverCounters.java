@@ -0,0 +1,58 @@
+package com.codebind;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Дополнительные показатели измерений: количество итераций итерационных методов
+ * и количество решений, завершившихся без результата. JMH выводит их рядом с пропускной способностью
+ * (итераций в секунду; делённые на число операций - итераций на одно решение).
+ * @autor Epishov
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class SolverCounters {
+
+    /**
+     * Суммарное количество итераций за измерение
+     */
+    public long iterations;
+
+    /**
+     * Количество решений без результата (расхождение, вырожденность, исчерпание итераций)
+     */
+    public long failures;
+
+    /**
+     * Сброс показателей перед каждым измерением
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+        iterations = 0;
+        failures = 0;
+    }
+
+    /**
+     * Учёт результата одного решения
+     * @param solver Решатель
+     * @param result Найденное решение или null
+     */
+    void record(AbstractSolver solver, float[] result) {
+        if (solver instanceof AutoSolver) {
+            solver = ((AutoSolver) solver).getSelected();
+        }
+        if (solver instanceof IterationSolver) {
+            iterations += ((IterationSolver) solver).getIterations();
+        } else if (solver instanceof DoubleSolverAdapter
+                && ((DoubleSolverAdapter) solver).getSolver() instanceof MixedPrecisionSolver) {
+            iterations += ((MixedPrecisionSolver) ((DoubleSolverAdapter) solver).getSolver()).getIterations();
+        }
+        if (result == null) {
+            failures++;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.codebind;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Итерационные методы и автоматический выбор на больших разреженных матрицах в формате CSR.
+ * Плотные методы не измеряются: разреженная матрица для них разворачивается в n² элементов.
+ * @autor Epishov
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SparseSolverBenchmark {
+
+    /**
+     * Метод решения (имена как в пакетном режиме)
+     */
+    @Param({"jacobi", "zeidel", "relaxation", "cg", "gmres", "bicgstab", "auto"})
+    public String solver;
+
+    /**
+     * Вид матрицы
+     */
+    @Param({"BANDED", "SPARSE"})
+    public SystemGenerator.Kind kind;
+
+    /**
+     * Количество неизвестных
+     */
+    @Param({"1000", "10000"})
+    public int n;
+
+    /**
+     * Решаемая система
+     */
+    private LinearSystem system;
+
+    /**
+     * Генерация системы
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        system = SystemGenerator.sparse(kind, n);
+    }
+
+    /**
+     * Решение системы новым решателем
+     * @param counters Дополнительные показатели
+     * @return Решение (возвращается, чтобы вычисления не были удалены как неиспользуемые)
+     */
+    @Benchmark
+    public float[] solve(SolverCounters counters) {
+        AbstractSolver instance = BatchMain.createSolver(solver, system);
+        float[] result = instance.solve();
+        counters.record(instance, result);
+        return result;
+    }
+}
@@ -0,0 +1,219 @@
+package com.codebind;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Генератор тестовых СЛАУ для измерений производительности.
+ * Вид матрицы:
+ * DENSE - случайная плотная (элементы из [-1, 1), может быть плохо обусловлена);
+ * DOMINANT - несимметричная со строгим диагональным преобладанием (сходятся все итерационные методы);
+ * SPD - симметричная положительно определённая (с диагональным преобладанием);
+ * BANDED - ленточная с полушириной ленты BANDWIDTH и диагональным преобладанием;
+ * TRIDIAGONAL - трёхдиагональная с диагональным преобладанием;
+ * SPARSE - разреженная, ROW_NON_ZEROS случайных внедиагональных элементов в строке, с диагональным преобладанием.
+ * Правая часть подбирается так, что точное решение - вектор из единиц.
+ * @autor Epishov
+ * @version 1.0
+ */
+public class SystemGenerator {
+
+    /**
+     * Виды матриц
+     */
+    public enum Kind { DENSE, DOMINANT, SPD, BANDED, TRIDIAGONAL, SPARSE }
+
+    /**
+     * Полуширина ленты матриц BANDED
+     */
+    public static final int BANDWIDTH = 2;
+
+    /**
+     * Количество внедиагональных ненулевых элементов в строке матриц SPARSE
+     */
+    public static final int ROW_NON_ZEROS = 4;
+
+    /**
+     * Начальное значение генератора случайных чисел: одинаковые матрицы во всех запусках
+     */
+    public static final long SEED = 20240601L;
+
+    /**
+     * Создание системы с плотной матрицей
+     * @param kind Вид матрицы
+     * @param n Количество неизвестных
+     * @return Система уравнений
+     */
+    public static LinearSystem dense(Kind kind, int n) {
+        Random random = new Random(SEED);
+        DenseMatrix matrix = DenseMatrix.allocate(n);
+        float[] row = new float[n];
+        for (int i = 0; i < n; i++) {
+            fillRow(kind, random, i, n, row);
+            matrix.setRow(i, row);
+        }
+        if (kind == Kind.SPD) {
+            symmetrize(matrix);
+        }
+        return new LinearSystem(matrix, freeCoeff(matrix));
+    }
+
+    /**
+     * Создание системы с разреженной матрицей (CSR); для DENSE, DOMINANT и SPD матрица хранит все n² элементов.
+     * Ленточные и разреженные матрицы строятся сразу в CSR, за O(n)
+     * @param kind Вид матрицы
+     * @param n Количество неизвестных
+     * @return Система уравнений
+     */
+    public static LinearSystem sparse(Kind kind, int n) {
+        if (kind != Kind.BANDED && kind != Kind.TRIDIAGONAL && kind != Kind.SPARSE) {
+            DenseMatrix matrix = dense(kind, n).matrix;
+            return new LinearSystem(SparseMatrix.fromDense(matrix), freeCoeff(matrix));
+        }
+        Random random = new Random(SEED);
+        int perRow = kind == Kind.SPARSE ? ROW_NON_ZEROS + 1 : 2 * bandwidth(kind) + 1;
+        int[] rowStart = new int[n + 1];
+        int[] columns = new int[n * perRow];
+        float[] values = new float[n * perRow];
+        float[] freeCoeff = new float[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            int[] rowColumns = kind == Kind.SPARSE ? randomColumns(random, i, n) : bandColumns(i, n, bandwidth(kind));
+            float offDiagonal = 0;
+            float rowSum = 0;
+            int diagonalIndex = -1;
+            for (int j : rowColumns) {
+                if (j == i) {
+                    diagonalIndex = count;
+                } else {
+                    float value = random.nextFloat() * 2 - 1;
+                    values[count] = value;
+                    offDiagonal += Math.abs(value);
+                    rowSum += value;
+                }
+                columns[count++] = j;
+            }
+            values[diagonalIndex] = offDiagonal + 1;
+            freeCoeff[i] = rowSum + offDiagonal + 1;
+            rowStart[i + 1] = count;
+        }
+        return new LinearSystem(new SparseMatrix(n, rowStart, Arrays.copyOf(columns, count),
+                Arrays.copyOf(values, count)), freeCoeff);
+    }
+
+    /**
+     * Заполнение строки плотной матрицы
+     * @param kind Вид матрицы
+     * @param random Генератор случайных чисел
+     * @param i Номер строки
+     * @param n Размерность
+     * @param row Массив строки
+     */
+    private static void fillRow(Kind kind, Random random, int i, int n, float[] row) {
+        Arrays.fill(row, 0);
+        int[] rowColumns = kind == Kind.SPARSE ? randomColumns(random, i, n)
+                : bandwidth(kind) > 0 ? bandColumns(i, n, bandwidth(kind)) : null;
+        float offDiagonal = 0;
+        for (int k = 0, count = rowColumns == null ? n : rowColumns.length; k < count; k++) {
+            int j = rowColumns == null ? k : rowColumns[k];
+            row[j] = random.nextFloat() * 2 - 1;
+            if (j != i) {
+                offDiagonal += Math.abs(row[j]);
+            }
+        }
+        if (kind != Kind.DENSE) {
+            row[i] = offDiagonal + 1;
+        }
+    }
+
+    /**
+     * Симметризация A := (A + Aᵀ) / 2; диагональ пересчитывается по суммам модулей строк,
+     * поэтому матрица остаётся с диагональным преобладанием и положительно определённой
+     * @param matrix Матрица
+     */
+    private static void symmetrize(DenseMatrix matrix) {
+        int n = matrix.getRank();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                float value = (matrix.get(i, j) + matrix.get(j, i)) / 2;
+                matrix.set(i, j, value);
+                matrix.set(j, i, value);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            float offDiagonal = 0;
+            for (int j = 0; j < n; j++) {
+                if (j != i) {
+                    offDiagonal += Math.abs(matrix.get(i, j));
+                }
+            }
+            matrix.set(i, i, offDiagonal + 1);
+        }
+    }
+
+    /**
+     * Правая часть b = A·(1, ..., 1)
+     * @param matrix Матрица системы
+     * @return Вектор свободных членов
+     */
+    private static float[] freeCoeff(DenseMatrix matrix) {
+        int n = matrix.getRank();
+        float[] ones = new float[n];
+        Arrays.fill(ones, 1);
+        float[] b = new float[n];
+        matrix.multiply(ones, b);
+        return b;
+    }
+
+    /**
+     * Полуширина ленты матриц данного вида
+     * @param kind Вид матрицы
+     * @return Полуширина ленты (0 - матрица не ленточная)
+     */
+    private static int bandwidth(Kind kind) {
+        return kind == Kind.BANDED ? BANDWIDTH : kind == Kind.TRIDIAGONAL ? 1 : 0;
+    }
+
+    /**
+     * Столбцы ленты строки i по возрастанию
+     * @param i Номер строки
+     * @param n Размерность
+     * @param bandwidth Полуширина ленты
+     * @return Номера столбцов
+     */
+    private static int[] bandColumns(int i, int n, int bandwidth) {
+        int from = Math.max(0, i - bandwidth);
+        int to = Math.min(n, i + bandwidth + 1);
+        int[] result = new int[to - from];
+        for (int j = from; j < to; j++) {
+            result[j - from] = j;
+        }
+        return result;
+    }
+
+    /**
+     * Диагональ и ROW_NON_ZEROS различных случайных столбцов строки i по возрастанию
+     * @param random Генератор случайных чисел
+     * @param i Номер строки
+     * @param n Размерность
+     * @return Номера столбцов
+     */
+    private static int[] randomColumns(Random random, int i, int n) {
+        int count = Math.min(n, ROW_NON_ZEROS + 1);
+        int[] result = new int[count];
+        result[0] = i;
+        int found = 1;
+        while (found < count) {
+            int j = random.nextInt(n);
+            boolean repeated = false;
+            for (int k = 0; k < found; k++) {
+                repeated |= result[k] == j;
+            }
+            if (!repeated) {
+                result[found++] = j;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+}